@@ -0,0 +1,91 @@
+package com.chess.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.chess.root.engine.Attacks;
+import com.chess.root.engine.Position;
+
+// the target squares of each piece type on every square of the board, the per piece part of Piece.getMoves
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttackBenchmark {
+
+	@Param({ Corpus.OPENING, Corpus.MIDDLE_GAME, Corpus.END_GAME })
+	public String position;
+
+	private long occupancy;
+
+	@Setup
+	public void setUp() {
+		occupancy = Corpus.getPosition(position).getOccupancy();
+	}
+
+	@Benchmark
+	public long pawn() {
+		long targets = 0L;
+		for (int square = 8; square < 56; square++) {
+			targets ^= Attacks.pawn(Position.WHITE, square);
+		}
+		return targets;
+	}
+
+	@Benchmark
+	public long knight() {
+		long targets = 0L;
+		for (int square = 0; square < 64; square++) {
+			targets ^= Attacks.knight(square);
+		}
+		return targets;
+	}
+
+	@Benchmark
+	public long bishop() {
+		long targets = 0L;
+		for (int square = 0; square < 64; square++) {
+			targets ^= Attacks.bishop(square, occupancy);
+		}
+		return targets;
+	}
+
+	@Benchmark
+	public long rook() {
+		long targets = 0L;
+		for (int square = 0; square < 64; square++) {
+			targets ^= Attacks.rook(square, occupancy);
+		}
+		return targets;
+	}
+
+	@Benchmark
+	public long queen() {
+		long targets = 0L;
+		for (int square = 0; square < 64; square++) {
+			targets ^= Attacks.queen(square, occupancy);
+		}
+		return targets;
+	}
+
+	@Benchmark
+	public long king() {
+		long targets = 0L;
+		for (int square = 0; square < 64; square++) {
+			targets ^= Attacks.king(square);
+		}
+		return targets;
+	}
+
+}
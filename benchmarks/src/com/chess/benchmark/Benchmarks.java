@@ -0,0 +1,29 @@
+package com.chess.benchmark;
+
+import java.io.IOException;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class Benchmarks {
+
+	private Benchmarks() {
+	}
+
+	// takes the usual JMH options, for example: SearchBenchmark -p depth=6 -rf json, allocation rates are always reported
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+		CommandLineOptions options = new CommandLineOptions(args);
+		Runner runner = new Runner(new OptionsBuilder().parent(options).addProfiler(GCProfiler.class).build());
+		if (options.shouldHelp()) {
+			options.showHelp();
+		} else if (options.shouldList()) {
+			runner.list();
+		} else {
+			runner.run();
+		}
+	}
+
+}
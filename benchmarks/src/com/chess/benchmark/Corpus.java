@@ -0,0 +1,52 @@
+package com.chess.benchmark;
+
+import com.chess.model.PieceValues;
+import com.chess.root.Engine;
+import com.chess.root.engine.Evaluation;
+import com.chess.root.engine.Perft;
+import com.chess.root.engine.Position;
+
+public class Corpus {
+
+	// the names are the benchmark parameters, so every result can be traced back to its position
+	public static final String START = "start";
+	public static final String OPENING = "opening";
+	public static final String MIDDLE_GAME = "middlegame";
+	public static final String TACTICAL = "tactical";
+	public static final String END_GAME = "endgame";
+	public static final String PROMOTION = "promotion";
+
+	private Corpus() {
+	}
+
+	public static String getFen(String name) {
+		switch (name) {
+			case START:
+				return Perft.START;
+			case OPENING:
+				return "r1bqkb1r/pppp1ppp/2n2n2/4p3/2B1P3/5N2/PPPP1PPP/RNBQK2R w KQkq - 4 4";
+			case MIDDLE_GAME:
+				return "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10";
+			case TACTICAL:
+				return "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+			case END_GAME:
+				return "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+			case PROMOTION:
+				return "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1";
+			default:
+				throw new IllegalArgumentException("unknown position: " + name);
+		}
+	}
+
+	public static Position getPosition(String name) {
+		Position position = new Position();
+		position.setFen(getFen(name));
+		return position;
+	}
+
+	// the evaluation the game builds for its AI, with the position tables of the pieces
+	public static Evaluation getEvaluation() {
+		return Engine.createEvaluation(PieceValues.MEDIUM);
+	}
+
+}
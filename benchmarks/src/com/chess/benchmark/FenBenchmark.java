@@ -0,0 +1,51 @@
+package com.chess.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.chess.root.FenParser;
+import com.chess.root.engine.Position;
+
+// reading FEN code, as done when a game is loaded
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FenBenchmark {
+
+	@Param({ Corpus.START, Corpus.MIDDLE_GAME, Corpus.END_GAME })
+	public String position;
+
+	private String fen;
+	private String placement;
+	private final Position target = new Position();
+
+	@Setup
+	public void setUp() {
+		fen = Corpus.getFen(position);
+		placement = fen.split(" ")[0];
+	}
+
+	@Benchmark
+	public String[][] fenParserBoard() {
+		return FenParser.parseBoard(placement);
+	}
+
+	@Benchmark
+	public long positionFen() {
+		target.setFen(fen);
+		return target.getKey();
+	}
+
+}
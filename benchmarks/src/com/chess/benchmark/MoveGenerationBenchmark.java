@@ -0,0 +1,91 @@
+package com.chess.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.chess.root.engine.MoveCode;
+import com.chess.root.engine.Perft;
+import com.chess.root.engine.Position;
+
+// the move generation behind Board.getValidMoves and the check test which replaced Board.isPieceEndangered
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveGenerationBenchmark {
+
+	@Param({ Corpus.START, Corpus.OPENING, Corpus.MIDDLE_GAME, Corpus.TACTICAL, Corpus.END_GAME, Corpus.PROMOTION })
+	public String position;
+
+	private Position root;
+	private Perft perft;
+	private final int[] moves = new int[Position.MAX_MOVES];
+
+	@Setup
+	public void setUp() {
+		root = Corpus.getPosition(position);
+		perft = new Perft(root);
+	}
+
+	@Benchmark
+	public int pseudoLegalMoves() {
+		return root.generateMoves(moves);
+	}
+
+	@Benchmark
+	public int captures() {
+		return root.generateCaptures(moves);
+	}
+
+	// what Board.getValidMoves does before it builds Move objects
+	@Benchmark
+	public int legalMoves() {
+		int count = root.generateMoves(moves);
+		long pinned = root.getPinned();
+		boolean inCheck = root.isInCheck();
+		int legal = 0;
+		for (int i = 0; i < count; i++) {
+			int move = moves[i];
+			if ((!MoveCode.isPromotion(move) || MoveCode.promotion(move) == Position.QUEEN) && root.isLegal(move, pinned, inCheck)) {
+				legal++;
+			}
+		}
+		return legal;
+	}
+
+	@Benchmark
+	public boolean inCheck() {
+		return root.isInCheck();
+	}
+
+	@Benchmark
+	public int makeUnmake() {
+		int count = root.generateMoves(moves);
+		int made = 0;
+		for (int i = 0; i < count; i++) {
+			if (root.make(moves[i])) {
+				root.unmake(moves[i]);
+				made++;
+			}
+		}
+		return made;
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public long perft3() {
+		return perft.count(3);
+	}
+
+}
@@ -0,0 +1,75 @@
+package com.chess.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.chess.root.engine.Position;
+import com.chess.root.engine.Search;
+import com.chess.root.engine.SearchStack;
+import com.chess.root.engine.TranspositionTable;
+
+// a fixed depth search of the root moves as Board.getBestMove runs it, each one starting from an empty table
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+	@Param({ Corpus.START, Corpus.OPENING, Corpus.MIDDLE_GAME, Corpus.TACTICAL, Corpus.END_GAME })
+	public String position;
+
+	@Param({ "5" })
+	public int depth;
+
+	@Param({ "true" })
+	public boolean pruning;
+
+	private Position root;
+	private TranspositionTable table;
+	private Search search;
+
+	@Setup(Level.Trial)
+	public void setUpRoot() {
+		root = Corpus.getPosition(position);
+		root.setEvaluation(Corpus.getEvaluation());
+		table = new TranspositionTable(16);
+	}
+
+	// a new search as well, so no history or killers carry over and every invocation visits the same nodes
+	@Setup(Level.Invocation)
+	public void setUpSearch() {
+		table.clear();
+		search = new Search(new Position(), root.getEvaluation(), table);
+		search.setPruning(pruning, pruning);
+		search.setPosition(root);
+		SearchStack stack = search.getStack();
+		int[] moves = stack.getMoves(0);
+		int count = root.generateMoves(moves);
+		int legal = 0;
+		for (int i = 0; i < count; i++) {
+			if (root.isLegal(moves[i])) {
+				moves[legal++] = moves[i];
+			}
+		}
+		stack.setCount(0, legal);
+	}
+
+	@Benchmark
+	public long fixedDepth() {
+		search.rateMoves(depth);
+		return search.getNodes();
+	}
+
+}
@@ -1,21 +1,40 @@
 package com.chess.application;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import com.chess.root.Board;
 import com.chess.root.Field;
+import com.chess.root.FieldListener;
+import com.chess.root.pieces.Piece;
 import javafx.animation.FadeTransition;
+import javafx.application.Platform;
 import javafx.scene.Cursor;
 import javafx.scene.control.Button;
 import javafx.scene.effect.Lighting;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.input.ClipboardContent;
 import javafx.scene.input.DragEvent;
+import javafx.scene.input.Dragboard;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.input.TransferMode;
 import javafx.util.Duration;
 
-public class FieldButton extends Button {
+public class FieldButton extends Button implements FieldListener {
 	
+	private static final int IMGSIZE = 60;
+	private static final Map<String, Image> IMAGES = new ConcurrentHashMap<>();
+	private static final Map<String, Image> DRAG_IMAGES = new ConcurrentHashMap<>();
+	private static final Logger LOG = Logger.getLogger(String.class.getName());
 	private Board board;
 	private Field field;
+	// one image view per piece image, a view can only be shown on one field at a time
+	private final Map<String, ImageView> symbols = new ConcurrentHashMap<>();
 	private String baseCSS = "-fx-background-radius: 0; -fx-font-weight: bold; -fx-font-size: 20; -fx-effect: dropshadow( one-pass-box , black , 8 , 0.0 , 2 , 0 ); -fx-effect: innershadow( gaussian , rgba(0,0,0,0.7) , 20,0,0,0 ); -fx-padding: 0;";
 	private String hoverb = "-fx-background-color: #b2b2a0;";
 	private String hoverw = "-fx-background-color: #e6e6d5;";
@@ -30,12 +49,106 @@ public class FieldButton extends Button {
 		this.setEffect(light);
 		this.getStyleClass().add("button-default");
 		this.setCursor(Cursor.HAND);
+		if (field.isBlack()) {
+			this.getStyleClass().add("button-black");
+		} else {
+			this.getStyleClass().add("button-white");
+		}
 		
 		addEvents();
 	}
 
 	// ---------------------------------- GUI HANDLING ----------------------------------
 	
+	@Override
+	public void update(Piece piece) {
+		if (Platform.isFxApplicationThread()) {
+			setSymbol(piece);
+			
+			// seems to be necessary...
+			Platform.runLater(() -> 
+				this.setText("")
+			);
+		} else {
+			
+			try {
+				FutureTask<Void> updateUITask = new FutureTask<>(() -> 
+					setSymbol(piece)
+				, null);
+				Platform.runLater(updateUITask);
+				updateUITask.get();
+			} catch (InterruptedException | ExecutionException e) {
+				LOG.log(Level.SEVERE, e.getMessage());
+				Thread.currentThread().interrupt();
+			} 
+		}
+	}
+	
+	@Override
+	public void render(Piece piece) {
+		if (piece == null) {
+			Platform.runLater(() -> 
+				this.setGraphic(null)
+			);
+		} else {
+			final ImageView x = getSymbol(piece);
+			Platform.runLater(() -> 
+				this.setText("o")
+			);
+	
+			update(piece);
+			Platform.runLater(() -> 
+				this.setGraphic(x)
+			);
+			Platform.runLater(() -> 
+				this.getGraphic().setOpacity(1.0)
+			);
+		}
+	}
+	
+	@Override
+	public void fade() {
+		if (this.getGraphic() != null) {
+			this.getGraphic().setOpacity(0.3);
+		}
+	}
+	
+	@Override
+	public void clear() {
+		Platform.runLater(() -> {
+			this.setGraphic(null);
+			this.setText("");
+		});
+	}
+	
+	@Override
+	public void highlight(Double d) {
+		this.setOpacity(d);
+		Platform.runLater(() -> 
+			this.setOpacity(d)
+		);
+	}
+	
+	private void setSymbol(Piece piece) {
+		this.setGraphic(getSymbol(piece));
+		this.getGraphic().setOpacity(1.0);
+	}
+	
+	private ImageView getSymbol(Piece piece) {
+		return symbols.computeIfAbsent(piece.getImagePath(), path -> {
+			ImageView symbol = new ImageView(IMAGES.computeIfAbsent(path, Image::new));
+			symbol.setFitWidth(IMGSIZE);
+			symbol.setFitHeight(IMGSIZE);
+			return symbol;
+		});
+	}
+	
+	private static Image getImage(Piece piece) {
+		Double imgSize = (double) IMGSIZE;
+		return DRAG_IMAGES.computeIfAbsent(piece.getImagePath(), path -> new Image(path, imgSize, imgSize, false, false));
+	}
+	
+	@Override
 	public void setWaitCursor(boolean wait) {
 		if (wait) {
 			this.setCursor(Cursor.WAIT);
@@ -64,6 +177,7 @@ public class FieldButton extends Button {
 		}
 	}
 	
+	@Override
 	public void flash() {
 		FadeTransition flash = new FadeTransition(Duration.seconds(1.0), this);
 		flash.setFromValue(1.0);
@@ -91,9 +205,9 @@ public class FieldButton extends Button {
 		// add event handler for manual gameplay (triggering move)					
 		setOnMouseClicked((MouseEvent event) -> {
 			if (event.getButton() == MouseButton.SECONDARY) {
-				board.showHints(event);
+				board.showHints(field);
 			} else if (board.isEditable()  && event.getButton() == MouseButton.PRIMARY) {
-				board.performManualMove(event);
+				board.performManualMove(field);
 			}
 			event.consume();
 		});
@@ -101,7 +215,15 @@ public class FieldButton extends Button {
 		// first event, picks up source - actual drag
 		setOnDragDetected((MouseEvent event) -> {
 			if (board.isEditable()  && event.getButton() == MouseButton.PRIMARY) {
-				board.performManualDrag(event);
+				Piece piece = field.getPiece();
+				if (board.performManualDrag(field)) {
+					Dragboard db = startDragAndDrop(TransferMode.MOVE);
+					db.setDragView(getImage(piece), 31.0, 31.0);
+					
+					ClipboardContent content = new ClipboardContent();
+					content.putString("");
+					db.setContent(content);
+				}
 			}
 			event.consume();
 		});
@@ -109,7 +231,13 @@ public class FieldButton extends Button {
 		// fifth event, on mouse release - actual drop
 		setOnDragDropped((DragEvent event) -> {
 			if (board.isEditable()) {
-				board.performManualDrop(event);
+				if (board.performManualDrop(field)) {
+					event.acceptTransferModes(TransferMode.MOVE);
+					event.getDragboard().clear();
+					event.setDropCompleted(true);
+				} else {
+					event.setDropCompleted(false);
+				}
 				reset();
 			}
 			event.consume();
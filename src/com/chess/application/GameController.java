@@ -11,7 +11,10 @@ import java.util.List;
 import java.util.logging.Level;
 import com.chess.model.Mode;
 import com.chess.model.Setting;
+import com.chess.root.Board;
+import com.chess.root.Field;
 import com.chess.root.Game;
+import com.chess.root.GameListener;
 import com.chess.root.PgnParser;
 import com.chess.root.Player;
 import javafx.animation.KeyFrame;
@@ -40,7 +43,7 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.util.Duration;
 
-public final class GameController extends SceneController implements Initializable {
+public final class GameController extends SceneController implements Initializable, GameListener {
 	
 	private SettingsController settingsController;
 	private boolean botActive = false;
@@ -156,7 +159,6 @@ public final class GameController extends SceneController implements Initializab
 			botActive = true;
 		}
 		
-		settings.setGrid(boardGrid);
 		this.stage = init.getStage();
 		this.chess = init.getMainAccess();
 		this.settingsController = init;
@@ -511,6 +513,7 @@ public final class GameController extends SceneController implements Initializab
 	
 	// ---------------------------------- EDIT PUBLIC CONTROLS ----------------------------------
 	
+	@Override
 	public void setGoBut(boolean activate) {
 		goButton.setDisable(!activate);
 		if (activate) {
@@ -529,6 +532,7 @@ public final class GameController extends SceneController implements Initializab
 		}
 	}
 	
+	@Override
 	public void setBackBut(boolean activate) {
 		stepBackButton.setDisable(!activate);
 		if (activate) {
@@ -538,6 +542,7 @@ public final class GameController extends SceneController implements Initializab
 		}
 	}
 	
+	@Override
 	public void setForwardBut(boolean activate) {
 		stepForwardButton.setDisable(!activate);
 		if (activate) {
@@ -547,18 +552,22 @@ public final class GameController extends SceneController implements Initializab
 		}
 	}
 	
+	@Override
 	public void requestFocusGo() {
 		goButton.requestFocus();
 	}
 	
+	@Override
 	public void requestFocusStop() {
 		stopButton.requestFocus();
 	}
 	
+	@Override
 	public void requestFocusBack() {
 		stepBackButton.requestFocus();
 	}
 	
+	@Override
 	public void requestFocusForward() {
 		stepForwardButton.requestFocus();
 	}
@@ -573,12 +582,14 @@ public final class GameController extends SceneController implements Initializab
 		}
 	}
 	
+	@Override
 	public void displayPlayer(Game game) {
 		if (game != null && game.getPlayer() != null) {
 			setDisplay(game.getPlayer().toString() + "'s turn");
 		} 
 	}
 	
+	@Override
 	public void setDisplay(String display) {
 		gameStatusText = display;
 		renderDisplay();		
@@ -588,6 +599,7 @@ public final class GameController extends SceneController implements Initializab
 		return gameStatusText;
 	}
 	
+	@Override
 	public void renderDisplay() {
 		if (Platform.isFxApplicationThread()) {
 			statusTextLabel.setText(gameStatusText);
@@ -598,10 +610,25 @@ public final class GameController extends SceneController implements Initializab
 		}
 	}
 	
+	@Override
 	public void updateMoveCounter(String counter) {
 		Platform.runLater(() -> 
 			moveCounter.setText(counter)
 		);
 	}
+	
+	// ---------------------------------- BOARD HANDLING ----------------------------------
+	
+	@Override
+	public void createField(Board board, Field field) {
+		FieldButton button = new FieldButton(board, field);
+		field.setListener(button);
+		boardGrid.add(button, field.getColumn(), field.getRow());
+	}
+	
+	@Override
+	public void runLater(Runnable task) {
+		Platform.runLater(task);
+	}
 
 }
@@ -26,6 +26,7 @@ import javafx.scene.control.ButtonBar.ButtonData;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.CheckBox;
 import javafx.scene.control.ComboBox;
+import javafx.scene.control.Control;
 import javafx.scene.control.Dialog;
 import javafx.scene.control.Label;
 import javafx.scene.control.RadioButton;
@@ -37,12 +38,18 @@ import javafx.scene.effect.GaussianBlur;
 import javafx.scene.image.Image;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.GridPane;
+import javafx.stage.DirectoryChooser;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import javafx.util.Callback;
 
 public class SettingsController extends SceneController implements Initializable {
 	
+	// limits of the engine dialog, so the milliseconds still fit an int
+	private static final int MAX_SECONDS = 3600;
+	private static final int MAX_MINUTES = 600;
+	private static final int MAX_HASH_SIZE = 1024;
+	
 	// ---------------------------------- MENU ----------------------------------
 	
 	// exitItem		in SceneController
@@ -103,6 +110,13 @@ public class SettingsController extends SceneController implements Initializable
 	@FXML 
 	private Label loadLabel;
 	
+	// engine
+	@FXML 
+	private Button engineButton;
+	
+	@FXML 
+	private Label engineLabel;
+	
 	@FXML 
 	private Button startButton;
 
@@ -175,15 +189,21 @@ public class SettingsController extends SceneController implements Initializable
 	    if (inputMode.contentEquals(Mode.ONLINE_MULTIPLAYER.get())) {
 	        difficultyLabel.setVisible(false);
 	        difficultyChoice.setVisible(false);
+	        engineButton.setVisible(false);
+	        engineLabel.setVisible(false);
 	        super.settings.setMode(Mode.ONLINE_MULTIPLAYER);
 	        showMultiplayerDialog();
 	    } else if (inputMode.contentEquals(Mode.MANUAL_VS_AI.get())) {
 	        difficultyLabel.setVisible(true);
 	        difficultyChoice.setVisible(true);
+	        engineButton.setVisible(true);
+	        engineLabel.setVisible(true);
 	        super.settings.setMode(Mode.MANUAL_VS_AI);
 	    } else {
 	        difficultyLabel.setVisible(true);
 	        difficultyChoice.setVisible(true);
+	        engineButton.setVisible(true);
+	        engineLabel.setVisible(true);
 	        super.settings.setMode(Mode.AI_ONLY);
 	    }
 	}
@@ -488,6 +508,107 @@ public class SettingsController extends SceneController implements Initializable
 		return null;
 	}
 	
+	// ---------------------------------- ENGINE DIALOG HANDLING ----------------------------------
+
+	@FXML
+	private void handleEngineButton(ActionEvent event) {
+		Dialog<ButtonType> dialog = new Dialog<>();
+		dialog.setTitle("Engine");
+		dialog.setHeaderText("Set the thinking time and resources of the AI, without any time it searches to the depth of its difficulty.");
+		dialog.getDialogPane().getStylesheets().add(SettingsController.class.getClassLoader().getResource("com/chess/resources/application.css").toExternalForm());
+
+		GaussianBlur blurEffect = new GaussianBlur(2);
+		settingsPane.setEffect(blurEffect);
+		
+		TextField moveTime = new TextField(Integer.toString(settings.getMoveTime() / 1000));
+		TextField clockTime = new TextField(Integer.toString(settings.getClockTime() / 60000));
+		TextField clockIncrement = new TextField(Integer.toString(settings.getClockIncrement() / 1000));
+		TextField threads = new TextField(Integer.toString(settings.getThreads()));
+		TextField hashSize = new TextField(Integer.toString(settings.getHashSize()));
+		TextField nodeLimit = new TextField(Long.toString(settings.getNodeLimit()));
+		CheckBox ponder = new CheckBox("think on the opponent's time");
+		ponder.setSelected(settings.getPonder());
+		TextField tablebasePath = new TextField(settings.getTablebasePath() != null ? settings.getTablebasePath() : "");
+		tablebasePath.setPromptText("none");
+		Button tablebaseButton = new Button("...");
+		tablebaseButton.getStyleClass().add("gui-control-default");
+		tablebaseButton.setOnAction(e -> {
+			DirectoryChooser directoryChooser = new DirectoryChooser();
+			File directory = directoryChooser.showDialog(stage);
+			if (directory != null) {
+				tablebasePath.setText(directory.getAbsolutePath());
+			}
+		});
+		
+		GridPane grid = new GridPane();
+		addEngineOption(grid, 1, "seconds per move: ", moveTime);
+		addEngineOption(grid, 2, "clock minutes: ", clockTime);
+		addEngineOption(grid, 3, "clock increment (s): ", clockIncrement);
+		addEngineOption(grid, 4, "threads: ", threads);
+		addEngineOption(grid, 5, "hash size (MB): ", hashSize);
+		addEngineOption(grid, 6, "nodes per move: ", nodeLimit);
+		addEngineOption(grid, 7, "ponder: ", ponder);
+		addEngineOption(grid, 8, "tablebases: ", tablebasePath);
+		grid.add(tablebaseButton, 3, 8);
+		grid.setHgap(5);
+		grid.setVgap(10);
+		dialog.getDialogPane().setContent(grid);
+		
+		Stage dialogStage = (Stage) dialog.getDialogPane().getScene().getWindow();
+		dialogStage.getIcons().add(new Image("com/chess/resources/img/go.png"));
+		
+		ButtonType buttonOk = new ButtonType("OK", ButtonData.OK_DONE);
+		dialog.getDialogPane().getButtonTypes().add(buttonOk);
+		ButtonType buttonCancel = new ButtonType("Cancel", ButtonData.CANCEL_CLOSE);
+		dialog.getDialogPane().getButtonTypes().add(buttonCancel);
+		
+		ButtonBar buttonBar = (ButtonBar)dialog.getDialogPane().lookup(".button-bar");
+		buttonBar.getButtons().forEach(b -> b.getStyleClass().add("gui-control-default"));
+		
+		Optional<ButtonType> result = dialog.showAndWait();
+		settingsPane.setEffect(null);
+		if (result.isPresent() && result.get() == buttonOk) {
+			// a clock replaces the time per move, both only limit the AI
+			settings.setMoveTime(parseOption(moveTime, MAX_SECONDS) * 1000);
+			settings.setClock(parseOption(clockTime, MAX_MINUTES) * 60000, parseOption(clockIncrement, MAX_SECONDS) * 1000);
+			// the search needs at least one thread and some table, no nodes means no limit
+			settings.setThreads(Math.max(1, parseOption(threads, Runtime.getRuntime().availableProcessors())));
+			settings.setHashSize(Math.max(1, parseOption(hashSize, MAX_HASH_SIZE)));
+			settings.setNodeLimit(parseOption(nodeLimit, Integer.MAX_VALUE));
+			settings.setPonder(ponder.isSelected());
+			// a relative directory is taken from the application directory, none turns probing off
+			String path = tablebasePath.getText().trim();
+			settings.setTablebasePath(path.isEmpty() ? null : path);
+			engineLabel.setText(getTimeText());
+		}
+	}
+	
+	private void addEngineOption(GridPane grid, int row, String text, Control field) {
+		Label label = new Label(text);
+		label.setMinWidth(150);
+		field.setPrefWidth(120);
+		grid.add(label, 1, row);
+		grid.add(field, 2, row);
+	}
+	
+	// anything which is not a number counts as none
+	private int parseOption(TextField field, int max) {
+		try {
+			return Math.min(max, Math.max(0, Integer.parseInt(field.getText().trim())));
+		} catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+	
+	private String getTimeText() {
+		if (settings.getClockTime() > 0) {
+			return "clock " + settings.getClockTime() / 60000 + "+" + settings.getClockIncrement() / 1000;
+		} else if (settings.getMoveTime() > 0) {
+			return settings.getMoveTime() / 1000 + " s per move";
+		}
+		return "no time limit";
+	}
+	
 	// ---------------------------------- START GAME HANDLING ----------------------------------
 
 	@FXML 
@@ -542,6 +663,7 @@ public class SettingsController extends SceneController implements Initializable
  		startButton.getStyleClass().add("button-start");
  		modeChoice.getStyleClass().add(guiControl);
  		loadButton.getStyleClass().add(guiControl);
+ 		engineButton.getStyleClass().add(guiControl);
  		startButton.getStyleClass().add(guiControl);
  	}
  	
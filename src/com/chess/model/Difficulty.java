@@ -2,17 +2,17 @@ package com.chess.model;
 
 public enum Difficulty {
 	
-	SUICIDE("suicide", 0, 0, 1000000000, false, true, false), 
-	RANDOM("random", 1, 0, 1, false, true, false), 
-	SUPEREASY("super easy", 2, 1, 2, false, true, false), 
-	VERYEASY("very easy", 3, 1, 4, false, true, false),
-	EASY("easy", 4, 1, 8, true, true, false),
-	MEDIUM("medium", 5, 2, 10, true, true, false),
-	MEDIUMER("mediumer", 6, 2, 10, true, true, false),
-	HARD("hard", 7, 2, 30, true, true, false),
-	HARDER("harder", 8, 3, 50, true, true, true),
-	SUPERHARD("super hard", 9, 3, 100, true, true, true),
-	SUPERSUPERHARD("super super hard", 10, 3, 1000000000, true, true, true); // default
+	SUICIDE("suicide", 0, 0, 1000000000, false, true, false, false, false), 
+	RANDOM("random", 1, 0, 1, false, true, false, false, false), 
+	SUPEREASY("super easy", 2, 1, 2, false, true, false, false, false), 
+	VERYEASY("very easy", 3, 1, 4, false, true, false, false, false),
+	EASY("easy", 4, 1, 8, true, true, false, false, false),
+	MEDIUM("medium", 5, 2, 10, true, true, false, false, false),
+	MEDIUMER("mediumer", 6, 2, 10, true, true, false, false, false),
+	HARD("hard", 7, 2, 30, true, true, false, true, true),
+	HARDER("harder", 8, 3, 50, true, true, true, true, true),
+	SUPERHARD("super hard", 9, 3, 100, true, true, true, true, true),
+	SUPERSUPERHARD("super super hard", 10, 3, 1000000000, true, true, true, true, true); // default
 	
 	private final String name;
 	private final int level;
@@ -21,8 +21,10 @@ public enum Difficulty {
 	private final boolean recursionDepthChanges;
 	private final boolean drawCheck;
 	private final boolean opening;
+	private final boolean nullMove;
+	private final boolean reductions;
 
-	Difficulty(String name, int level, int tree, int spasm, boolean recursionDepthChanges, boolean drawCheck, boolean opening) {
+	Difficulty(String name, int level, int tree, int spasm, boolean recursionDepthChanges, boolean drawCheck, boolean opening, boolean nullMove, boolean reductions) {
 		this.name = name;
 		this.level = level;
 		this.tree = tree;
@@ -30,6 +32,8 @@ public enum Difficulty {
 		this.recursionDepthChanges = recursionDepthChanges;
 		this.drawCheck = drawCheck;
 		this.opening = opening;
+		this.nullMove = nullMove;
+		this.reductions = reductions;
 	}
 	
 	// ---------------------------------- GENERIC GETTERS ----------------------------------
@@ -61,5 +65,13 @@ public enum Difficulty {
 	public boolean opening() {
 		return opening;
 	}
+	
+	public boolean nullMove() {
+		return nullMove;
+	}
+	
+	public boolean reductions() {
+		return reductions;
+	}
 
 }
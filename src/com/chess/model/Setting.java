@@ -4,12 +4,10 @@ import java.io.File;
 import java.util.List;
 import com.chess.root.FenParser;
 import com.chess.root.PgnParser;
-import javafx.scene.layout.GridPane;
 import java.io.Serializable;
 
 public class Setting implements Serializable {
 
-	private GridPane boardGrid;
 	private boolean whiteUp;
 	private Mode mode;
 	private PieceValues pieceValue;
@@ -27,6 +25,18 @@ public class Setting implements Serializable {
 	private List<String> pgnMoves;
 	private boolean hasPgn;
 	private boolean hasFen;
+	private int hashSize = 16;
+	private int threads = 1;
+	// the AI searches the position after the expected reply while a human opponent thinks
+	private boolean ponder = true;
+	// the most nodes the AI may search per move once its minimum depth is done, none means no limit
+	private long nodeLimit;
+	// directory of the endgame tables built by TablebaseGenerator, a relative one lies next to the application, none turns probing off
+	private String tablebasePath = "tablebases";
+	// thinking time of the AI in milliseconds, either fixed per move or taken from a clock, none means search to the difficulty depth
+	private int moveTime;
+	private int clockTime;
+	private int clockIncrement;
 
 	public Setting(boolean whiteUp, Mode mode, PieceValues pieceValue, Difficulty difficulty) {
 		this.whiteUp = whiteUp;
@@ -178,14 +188,6 @@ public class Setting implements Serializable {
 	
 	// ---------------------------------- GENERIC SETTERS AND GETTERS ----------------------------------
 	
-	public void setGrid(GridPane boardGrid) {
-		this.boardGrid = boardGrid;
-	}
-
-	public GridPane getGrid() {
-		return boardGrid;
-	}
-
 	public void setColor(boolean whiteUp) {
 		this.whiteUp = whiteUp;
 	}
@@ -234,6 +236,67 @@ public class Setting implements Serializable {
 		this.touched = touched;
 	}
 	
+	public int getHashSize() {
+		return hashSize;
+	}
+	
+	public void setHashSize(int megaBytes) {
+		hashSize = megaBytes;
+	}
+	
+	public int getThreads() {
+		return threads;
+	}
+	
+	public void setThreads(int threads) {
+		this.threads = threads;
+	}
+	
+	public boolean getPonder() {
+		return ponder;
+	}
+	
+	public void setPonder(boolean ponder) {
+		this.ponder = ponder;
+	}
+	
+	public long getNodeLimit() {
+		return nodeLimit;
+	}
+	
+	public void setNodeLimit(long nodes) {
+		nodeLimit = nodes;
+	}
+	
+	public String getTablebasePath() {
+		return tablebasePath;
+	}
+	
+	public void setTablebasePath(String path) {
+		tablebasePath = path;
+	}
+	
+	public int getMoveTime() {
+		return moveTime;
+	}
+	
+	public void setMoveTime(int millis) {
+		moveTime = millis;
+	}
+	
+	public int getClockTime() {
+		return clockTime;
+	}
+	
+	public int getClockIncrement() {
+		return clockIncrement;
+	}
+	
+	public void setClock(int millis, int increment) {
+		clockTime = millis;
+		clockIncrement = increment;
+	}
+	
 	public boolean getTimeout() {
 		return timeout;
 	}
@@ -21,21 +21,28 @@ public class AIThread  extends Thread implements Runnable{
 	@Override 
 	public void run() {
 		while (running) {
+			boolean ponder = false;
 			synchronized (lock) {
 				if (!running) {
 					break;
 				}
 				if (paused || blocked) {
-					try {
-						lock.wait();
-					} catch (InterruptedException e) {
-						LOG.log(Level.SEVERE, e.getMessage());
-						Thread.currentThread().interrupt();
+					// instead of waiting for the opponent, the expected reply is searched until the opponent moves
+					ponder = !blocked && game.getBoard() != null && game.getBoard().startPondering();
+					if (!ponder) {
+						try {
+							lock.wait();
+						} catch (InterruptedException e) {
+							LOG.log(Level.SEVERE, e.getMessage());
+							Thread.currentThread().interrupt();
+						}
 					}
 				}
 			}
 
-			if(!blocked) {
+			if (ponder) {
+				game.getBoard().ponder();
+			} else if(!blocked) {
 				game.getBoard().performAIMove();
 			}
 		}
@@ -45,6 +52,7 @@ public class AIThread  extends Thread implements Runnable{
 		
 	public void requestStop() {
 		running = false;
+		stopSearch();
 		requestResume();
 	}
 	
@@ -54,13 +62,33 @@ public class AIThread  extends Thread implements Runnable{
 	
 	public void requestResume() {
 		synchronized (lock) {
+			// pondering has to stop before the thread may search for real
+			stopPondering();
 			paused = false;
 			lock.notifyAll();
 		}
 	}
 	
 	public void block(boolean blockthis) {
-		this.blocked = blockthis;
+		synchronized (lock) {
+			this.blocked = blockthis;
+			if (blockthis) {
+				// a running search is cut short, so pausing and edit mode do not wait for it
+				stopSearch();
+			}
+		}
+	}
+	
+	private void stopPondering() {
+		if (game.getBoard() != null) {
+			game.getBoard().stopPondering();
+		}
+	}
+	
+	private void stopSearch() {
+		if (game.getBoard() != null) {
+			game.getBoard().stopSearch();
+		}
 	}
 
 }
@@ -1,19 +1,27 @@
 package com.chess.root;
 
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import com.chess.application.FieldButton;
 import com.chess.model.Difficulty;
 import com.chess.model.OpeningLibrary;
 import com.chess.model.PieceValues;
 import com.chess.model.Setting;
+import com.chess.root.engine.Evaluation;
+import com.chess.root.engine.MoveCode;
+import com.chess.root.engine.Position;
+import com.chess.root.engine.Search;
+import com.chess.root.engine.SearchContext;
+import com.chess.root.engine.SearchStack;
+import com.chess.root.engine.Tablebase;
+import com.chess.root.engine.TranspositionTable;
+import com.chess.root.engine.Zobrist;
 import com.chess.root.moves.Move;
 import com.chess.root.moves.CastlingMove;
 import com.chess.root.moves.PassingMove;
@@ -26,11 +34,6 @@ import com.chess.root.pieces.PawnPiece;
 import com.chess.root.pieces.Piece;
 import com.chess.root.pieces.QueenPiece;
 import com.chess.root.pieces.RookPiece;
-import javafx.scene.input.ClipboardContent;
-import javafx.scene.input.DragEvent;
-import javafx.scene.input.Dragboard;
-import javafx.scene.input.MouseEvent;
-import javafx.scene.input.TransferMode;
 
 public class Board {
 	
@@ -56,13 +59,37 @@ public class Board {
 	private Piece enPassantPiece;
 	
 	private boolean initializing = false;
-	private boolean endGame = false;
 	private List<Move> moveHistory = new LinkedList<>();
 	private List<Move> moveFuture = new LinkedList<>();
 	private int countdown;
 	private static Random random = new Random();
 	private boolean dummyMode;
 	
+	private Position position = new Position();
+	private Evaluation evaluation;
+	private Search search;
+	private final int[] moveBuffer = new int[Position.MAX_MOVES];
+	private long key;
+	// a clock replaces the fixed move time if given, one per color and reduced by the time the AI spent thinking
+	private int moveTime;
+	private int clockIncrement;
+	private long[] clocks;
+	// the position after the expected reply is searched on the opponent's time, its result is kept until the AI moves next
+	private boolean ponderEnabled;
+	private volatile boolean pondering;
+	// the context of the running search, pausing, undoing and closing the game stop it through this
+	private volatile SearchContext searchContext = SearchContext.unlimited();
+	private long nodeLimit;
+	private Position lastRoot;
+	private int[] lastLine = new int[0];
+	private Position ponderPosition;
+	private long ponderKey;
+	private int[] ponderCodes;
+	private int[] ponderScores;
+	private int[] ponderLine;
+	private int ponderDepth;
+	private long ponderTime;
+	
 	public Board(Game game, Setting settings) {
 		this.game = game;
 		this.difficulty = settings.getDifficulty();
@@ -71,19 +98,28 @@ public class Board {
 		this.enPassantEnabled = settings.getPassing();
 		this.touchedMovedEnabled = settings.getTouched();
 		this.timeoutEnabled = settings.getTimeout();
+		this.moveTime = settings.getMoveTime();
+		this.ponderEnabled = settings.getPonder();
+		this.nodeLimit = settings.getNodeLimit() > 0 ? settings.getNodeLimit() : SearchContext.NO_LIMIT;
+		if (settings.getClockTime() > 0) {
+			this.clocks = new long[] { settings.getClockTime(), settings.getClockTime() };
+			this.clockIncrement = settings.getClockIncrement();
+		}
 		this.blackPieces = new LinkedList<>();
 		this.whitePieces = new LinkedList<>();
 		this.fields = new Field[8][8];
 		if (settings.hasFen()) {
 			this.countdown = settings.getFenCountdown();
 		}
-		initializeFields(settings);
+		initializeEngine(settings.getHashSize(), settings.getThreads(), settings.getTablebasePath());
+		initializeFields();
 		initializePieces(settings.getFenBoard());
 		if (settings.hasFen()) {
 			blackPlays = settings.getFenPlayer();
 			enPassantPiece = FenParser.parsePassing(settings.getFenPassingPiece(), blackPieces, whitePieces);
 			FenParser.parseCastling(settings.getFenCastlingOptions(), this);
 		}
+		initializeKey();
 	
 		if (!settings.hasPgn()) {
 			validateBoard();
@@ -98,11 +134,9 @@ public class Board {
 	
 	// ---------------------------------- MANUAL GAMEPLAY ----------------------------------
 	
-	public void performManualMove(MouseEvent event) {  
+	public void performManualMove(Field field) {  
 		// Check if the current player can move
 		if (game.canPlayerMove()) {
-			FieldButton button = (FieldButton) event.getSource();
-			Field field = button.getField();
 			if (isNextMoveUnlocked) {	
 				// start move
 				activePiece = field.getPiece();   			
@@ -131,41 +165,29 @@ public class Board {
 		}
 	}
 	
-	public void performManualDrag(MouseEvent event) {	
+	// picks up the piece of the field, returns true if it may be dragged
+	public boolean performManualDrag(Field field) {	
 		if (game.canPlayerMove()) {
-			FieldButton button = (FieldButton) event.getSource();
-			Field field = button.getField();
 			if (isNextMoveUnlocked) {	
 				// start move
 				activePiece = field.getPiece();   			
 				if (canPieceMove(activePiece)) {
-					
-					Dragboard db = button.startDragAndDrop(TransferMode.MOVE);
-					db.setDragView(activePiece.getImage(), 31.0, 31.0);
-					
-					ClipboardContent content = new ClipboardContent();
-					content.putString("");
-					db.setContent(content);
-	
 					isNextMoveUnlocked = false;
 					field.removePiece(false);
 					showHintsForDummies(activePiece, true);
+					return true;
 				}
 			} 
 		}
+		return false;
 	}
 	
-	public void performManualDrop(DragEvent event) {  
+	// drops the dragged piece on the field, returns true if this made a move
+	public boolean performManualDrop(Field field) {  
 		if (game.canPlayerMove()) {
-			FieldButton button = (FieldButton) event.getSource();
-			Field field = button.getField();
 			if (!isNextMoveUnlocked) {
-				boolean success = false;
 				Move move = getMove(activePiece, field); 
 				if (move != null) {
-					event.acceptTransferModes(TransferMode.MOVE);
-					Dragboard db = event.getDragboard();
-					db.clear();
 					showHintsForDummies(activePiece, false);
 					
 					// For network games, use the network-aware execute method
@@ -175,13 +197,13 @@ public class Board {
 						executeMove(move);
 						endMove();
 					}
-					success = true;	
+					return true;
 				} else {
 					abortMove();
 				}
-				event.setDropCompleted(success);
 			}
 		}
+		return false;
 	}
 	
 	// ---------------------------------- MANUAL GAMEPLAY LOGIC HANDLING ONLY ----------------------------------
@@ -257,7 +279,9 @@ public class Board {
 	public void performAIMove() {
 		if (getPlayer() != null) {
 			Move bestMove = getBestMove();
-			if (bestMove != null && isNextMoveUnlocked) {
+			// a search stopped by pausing, undoing or ending the game leaves the move to the next turn
+			if (bestMove != null && isNextMoveUnlocked && !editMode && !isSearchStopped()) {
+				preparePonder(bestMove);
 				isNextMoveUnlocked = false;
 				shortDelay();
 				bestMove.getPiece().getField().removePiece(false);
@@ -275,11 +299,16 @@ public class Board {
 		}
 		
 		List<Move> moves = currentMoves;
+		long start = System.currentTimeMillis();
 		
 		if (difficulty.opening()) {
 			moves = OpeningLibrary.getNext(moveHistory, moves);
 		}
 		moves = rateMovesAlphaBeta(moves);
+		if (clocks != null) {
+			int side = currentMoves.get(0).getPiece().isBlack() ? Position.BLACK : Position.WHITE;
+			clocks[side] = Math.max(0, clocks[side] - (System.currentTimeMillis() - start)) + clockIncrement;
+		}
 		
 		List<Move> bestMoves = new LinkedList<>();
 		// spasm generator will - depending on difficulty setting - trigger completely random moves. Otherwise, best rated move is chosen
@@ -313,126 +342,236 @@ public class Board {
 	private List<Move> rateMovesAlphaBeta(List<Move> moves) {
 		if (!moves.isEmpty()) {
 			showDelayCursor(true);
-			List<Piece> myPieces = new LinkedList<>(getPieces(blackPlays));
-			List<Piece> otherPieces = new LinkedList<>(getPieces(getOtherPlayer().isBlack()));   	
+			// the engine searches a detached snapshot, so fields and pieces are never touched while it thinks
+			Position root = createPosition(moves.get(0).getPiece().isBlack());
+			search.setPosition(root);
+			SearchStack stack = search.getStack();
+			int[] codes = stack.getMoves(0);
+			int count = 0;
 			for (Move c : moves) {
-				List<Move> startMove = new LinkedList<>();
-				startMove.add(c);
-				int rating = rateMovesAlphaBeta(startMove, myPieces, otherPieces, true, blackPlays, -1000000, 1000000, recursionDepth);
-				c.incRating(rating);
+				codes[count++] = c.getCode();
+			}
+			stack.setCount(0, count);
+			int budget = getMoveBudget(moves.get(0).getPiece().isBlack());
+			int[] line;
+			if (root.getKey() == ponderKey && (budget > 0 ? ponderTime >= budget : ponderDepth >= getSearchDepth(budget))) {
+				// the opponent played the expected reply and the position was already searched far enough on the opponent's time
+				LOG.log(Level.INFO, "SYSTEM: ponder hit, depth {0}", ponderDepth);
+				startSearch(Search.NO_DEADLINE);
+				int[] scores = stack.getScores(0);
+				for (int i = 0; i < count; i++) {
+					scores[i] = getPonderScore(codes[i]);
+				}
+				line = ponderLine;
+			} else {
+				if (root.getKey() == ponderKey && budget > 0) {
+					// the table is still warm from pondering, only the rest of the time is spent
+					budget = (int) Math.max(1, budget - ponderTime);
+				}
+				if (budget > 0) {
+					// within a time budget the depth only stays fixed for the levels that never change their horizon
+					search.rateMoves(0, getSearchDepth(budget), startSearch(System.currentTimeMillis() + budget));
+					LOG.log(Level.INFO, "SYSTEM: search depth reached: {0}", search.getCompletedDepth());
+				} else if (difficulty.recursion()) {
+					// one more ply is searched if the position allows it within a fixed time, so endgames get deeper without counting pieces
+					search.rateMoves(recursionDepth, recursionDepth + 1, startSearch(System.currentTimeMillis() + Engine.DEEPENING_TIME));
+				} else {
+					search.rateMoves(0, recursionDepth, startSearch(Search.NO_DEADLINE));
+				}
+				line = search.getPrincipalVariation();
+			}
+			ponderKey = 0L;
+			lastRoot = root;
+			lastLine = line;
+			logExpectedLine(line);
+			int[] scores = stack.getScores(0);
+			rateDrawMoves(root, moves, scores);
+			int i = 0;
+			for (Move c : moves) {
+				c.incRating(avoidDrawCheck(root, c, scores[i++]));
 			}
 			showDelayCursor(false);
 		}
 		return moves;
 	}
 	
-	private int rateMovesAlphaBeta(List<Move> moves, List<Piece> myPieces, List<Piece> otherPieces, boolean itsMe, boolean isBlack, int alpha, int beta, int tree) {	
-		List<Integer> numlist = new LinkedList<>();
-		int currentTreeLevel = tree;
-		int vala = -1000000;
-		int valb = 1000000;
-		for (Move thisMove : moves) {
-			int rating = 0;
-			
-			// ----------------- before move -----------------
-			thisMove.executeSimulation(this, otherPieces, myPieces, thisMove);
-			// ----------------- after move start -----------------
+	private void logExpectedLine(int[] line) {
+		StringBuilder sb = new StringBuilder();
+		for (int code : line) {
+			sb.append(' ').append(MoveCode.toString(code));
+		}
+		LOG.log(Level.INFO, "SYSTEM: expected line:{0}", sb);
+	}
 	
-			List<Move> otherMoves = getMoves(otherPieces, !isBlack);
+	// the deepest iteration a search of this difficulty may start, the deepening one included
+	private int getSearchDepth(int budget) {
+		if (budget > 0) {
+			return difficulty.recursion() ? Search.MAX_DEPTH : recursionDepth;
+		}
+		return difficulty.recursion() ? recursionDepth + 1 : recursionDepth;
+	}
 	
-			if (tree > 0 && otherMoves != null && !otherMoves.isEmpty()) {
-				rating = rateMovesAlphaBeta(otherMoves, otherPieces, myPieces, !itsMe, !isBlack, alpha, beta, tree-1);
-				if (currentTreeLevel == recursionDepth) {
-
-					rating = avoidDrawCheck(thisMove, currentTreeLevel, rating);
-					if (rating > 600000 && currentTreeLevel == recursionDepth && ((otherMoves != null && avoidStalemateCheck(isBlack, myPieces)) || otherMoves == null) && !(thisMove.getVictim() instanceof KingPiece)) {
-						rating = rating / 320;
-						LOG.log(Level.INFO, "SYSTEM: avoiding stalemate");
-					}
-				}
-			} else { 
-				rating = itsMe ? getMaterial(myPieces) - getMaterial(otherPieces) : getMaterial(otherPieces) - getMaterial(myPieces);
-
-				if ((otherMoves == null || otherMoves.isEmpty()) && (thisMove.getVictim() instanceof KingPiece)) {
-					//LOG.log(Level.INFO, "SYSTEM: plotting about direct attack of king");
-					rating = rating * 2;
-					if (currentTreeLevel != 0) {
-						rating = rating * (currentTreeLevel+1);
-					}
-				}
+	private int getMoveBudget(boolean isBlack) {
+		return Engine.getMoveBudget(clocks, isBlack ? Position.BLACK : Position.WHITE, clockIncrement, moveTime);
+	}
+	
+	// ---------------------------------- PONDERING ----------------------------------
+	
+	// only against a human the expected reply is searched ahead - in AI vs AI both players share the same search
+	private void preparePonder(Move move) {
+		ponderPosition = null;
+		if (!ponderEnabled || getOtherPlayer().isAI() || lastRoot == null || lastLine.length < 2 || lastLine[0] != move.getCode()) {
+			return;
+		}
+		Position next = new Position(lastRoot);
+		if (next.make(lastLine[0]) && next.make(lastLine[1])) {
+			ponderPosition = new Position(next);
+		}
+	}
+	
+	// called by the AI thread while it waits, returns false if there is nothing to ponder
+	public boolean startPondering() {
+		if (ponderPosition == null) {
+			return false;
+		}
+		searchContext = SearchContext.unlimited();
+		pondering = true;
+		return true;
+	}
+	
+	public void stopPondering() {
+		if (pondering) {
+			stopSearch();
+		}
+	}
+	
+	// returns at once, the search ends within a few thousand nodes and its move is not played
+	public void stopSearch() {
+		searchContext.stop();
+	}
+	
+	public boolean isSearchStopped() {
+		return searchContext.isStopped();
+	}
+	
+	private SearchContext startSearch(long deadline) {
+		searchContext = new SearchContext(nodeLimit, deadline);
+		return searchContext;
+	}
+	
+	// searches the position after the expected reply until the opponent moves or the depth of a real search is reached
+	public void ponder() {
+		Position next = ponderPosition;
+		ponderPosition = null;
+		try {
+			if (next == null) {
+				return;
 			}
-			numlist.add(rating + thisMove.getRating());
-			// ----------------- after move end -----------------
-			thisMove.undoSimulation(this, otherPieces, myPieces, thisMove);
-			// ----------------- after move restore -----------------
-		
-			if (tree != 0) {
-				if (itsMe) {
-					vala = Math.max(vala, rating); 
-					alpha = Math.max(alpha,  vala);
-					if (alpha >= beta) {
-						break;
-					}
-				} else {
-					valb = Math.min(valb, rating); 
-					beta = Math.min(beta,  valb);
-					if (alpha >= beta) {
-						break;
-					}
+			search.setPosition(next);
+			SearchStack stack = search.getStack();
+			int[] codes = stack.getMoves(0);
+			int[] generated = new int[Position.MAX_MOVES];
+			int all = next.generateMoves(generated);
+			long pinned = next.getPinned();
+			boolean inCheck = next.isInCheck();
+			int count = 0;
+			for (int i = 0; i < all; i++) {
+				int code = generated[i];
+				if ((!MoveCode.isPromotion(code) || MoveCode.promotion(code) == Position.QUEEN) && next.isLegal(code, pinned, inCheck)) {
+					codes[count++] = code;
 				}
 			}
+			if (count == 0) {
+				return;
+			}
+			stack.setCount(0, count);
+			long start = System.currentTimeMillis();
+			search.rateMoves(0, getSearchDepth(getMoveBudget(next.getSide() == Position.BLACK)), searchContext);
+			if (search.getCompletedDepth() >= 0) {
+				ponderCodes = Arrays.copyOf(codes, count);
+				ponderScores = Arrays.copyOf(stack.getScores(0), count);
+				ponderLine = search.getPrincipalVariation();
+				ponderDepth = search.getCompletedDepth();
+				ponderTime = System.currentTimeMillis() - start;
+				ponderKey = next.getKey();
+			}
+		} finally {
+			pondering = false;
 		}
-		return itsMe ? numlist.stream().mapToInt(v -> v).max().orElseThrow(NoSuchElementException::new) : numlist.stream().mapToInt(v -> v).min().orElseThrow(NoSuchElementException::new);
 	}
 	
-	private boolean avoidStalemateCheck(boolean otherColor, List<Piece> myPieces) {
-		Piece king = getKing(!otherColor);
-		if (difficulty.draw() && !isPieceEndangered(king, myPieces)) {
-			
-			List<Move> kingMoves = new LinkedList<>(king.getMoves());
-			int size = 0;
-			if (!kingMoves.isEmpty()) {
-				size = kingMoves.size();
-				for (Move m : kingMoves) {
-					m.executeSimulation(this, myPieces);
-					if (isPieceEndangered(king, myPieces)) {
-						size--;
-					}
-					m.undoSimulation(this, myPieces);
-				}
-				if(size == 0) {
-				return true;
-				}
+	private int getPonderScore(int code) {
+		for (int i = 0; i < ponderCodes.length; i++) {
+			if (ponderCodes[i] == code) {
+				return ponderScores[i];
+			}
+		}
+		return -Search.INFINITY;
+	}
+	
+	// scores below the best one may only be upper bounds - if the draw rules could lift such a move above the best one, it gets a real score first
+	private void rateDrawMoves(Position root, List<Move> moves, int[] scores) {
+		if (!timeoutEnabled || !difficulty.draw() || isSearchStopped()) {
+			return;
+		}
+		int count = moves.size();
+		int best = -Search.INFINITY;
+		for (int i = 0; i < count; i++) {
+			best = Math.max(best, scores[i]);
+		}
+		int bestRating = -Search.INFINITY;
+		for (int i = 0; i < count; i++) {
+			if (scores[i] == best) {
+				bestRating = Math.max(bestRating, getDrawRating(root, moves.get(i), scores[i]));
+			}
+		}
+		for (int i = 0; i < count; i++) {
+			Move move = moves.get(i);
+			int rating = getDrawRating(root, move, scores[i]);
+			if (scores[i] < best && rating != scores[i] && rating >= bestRating) {
+				scores[i] = search.rateExactly(move.getCode(), searchContext);
+				bestRating = Math.max(bestRating, getDrawRating(root, move, scores[i]));
 			}
 		}
-		return false;
 	}
 	
-	private int avoidDrawCheck(Move thisMove, int tree, int rating) {
+	private int avoidDrawCheck(Position root, Move thisMove, int rating) {
 		if (timeoutEnabled && difficulty.draw()) {
-			// avoid draw by threefold repetition
-			if (tree == recursionDepth && getBoardOccurences(moveHistory, FenParser.getBoard(this)) >= 1) {
+			if (isRepetition(root, thisMove)) {
 				LOG.log(Level.INFO, "SYSTEM: avoiding threefold rule draw");
-				rating = rating / 6;
-				}
-			// avoid draw by 50 moves rule
-			if ((tree == recursionDepth && countdown > 80) && (thisMove.getPiece() instanceof PawnPiece || thisMove.getVictim() != null)) {
+			}
+			if (isCountdownReset(thisMove)) {
 				LOG.log(Level.INFO, "SYSTEM: avoiding 50 moves rule draw");
-				rating = rating * 2;
 			}
+			rating = getDrawRating(root, thisMove, rating);
 		}
 		return rating;
 	}
 	
-	private int getMaterial(List<Piece> pieces) {
-		int value = 0;
-		int count = pieces.size();
-		if (count > 0) {
-			for (Piece p : pieces) {
-				value += p.getValue();
-			}
-		} 
-		return value;
+	private int getDrawRating(Position root, Move thisMove, int rating) {
+		// avoid draw by threefold repetition
+		if (isRepetition(root, thisMove)) {
+			rating = rating / 6;
+		}
+		// avoid draw by 50 moves rule
+		if (isCountdownReset(thisMove)) {
+			rating = rating * 2;
+		}
+		return rating;
+	}
+	
+	private boolean isRepetition(Position root, Move thisMove) {
+		int code = thisMove.getCode();
+		if (root.make(code)) {
+			long next = root.getKey();
+			root.unmake(code);
+			return getBoardOccurences(moveHistory, next) >= 1;
+		}
+		return false;
+	}
+	
+	private boolean isCountdownReset(Move thisMove) {
+		return countdown > 80 && (thisMove.getPiece() instanceof PawnPiece || thisMove.getVictim() != null);
 	}
 	   
 	// ---------------------------------- MOVE EXECUTION ----------------------------------
@@ -487,39 +626,25 @@ public class Board {
 	 
 	// ---------------------------------- MOVE GENERATION AND VALIDATION ----------------------------------
 	
-	private List<Move> getValidMoves(boolean isblack, List<Move> moves) {
+	private List<Move> getValidMoves(boolean isblack) {
 		List<Move> validMoves = new LinkedList<>();
 		
-		if (moves.isEmpty() || getPlayer() == null) {
+		if (getPlayer() == null) {
 			return validMoves;
 		}
 	
-		boolean checked = false;
-		Piece king = getKing(isblack);
-		List<Piece> otherPieces = getPieces(!isblack);
-		boolean endangered = false;
-			
-		// check if king is currently in check
-		if (isPieceEndangered(king, otherPieces)) {
-			checked = true;
-		}
-	
-		for (Move thisMove : moves) {
-			thisMove.executeSimulation(this, otherPieces);
-			endangered = isPieceEndangered(king, otherPieces);
-			if (!endangered) {
-				validMoves.add(thisMove);
-			} 
-			thisMove.undoSimulation(this, otherPieces);
-		}
-			
-		check = checked;
-		
-		if (!check) {
-			// get castling moves
-			KingPiece k = (KingPiece) king;
-			if (king != null) {
-				Optional.ofNullable(k.getCastlingMoves()).ifPresent(validMoves::addAll);
+		// moves are generated and validated as codes on the bitboard position - Move objects are only built for legal ones
+		synchronized (position) {
+			updatePosition(position, isblack);
+			int count = position.generateMoves(moveBuffer);
+			long pinned = position.getPinned();
+			check = position.isInCheck();
+			for (int i = 0; i < count; i++) {
+				int code = moveBuffer[i];
+				// the game only knows queen promotions
+				if ((!MoveCode.isPromotion(code) || MoveCode.promotion(code) == Position.QUEEN) && position.isLegal(code, pinned, check)) {
+					validMoves.add(createMove(code));
+				}
 			}
 		}
 	
@@ -565,30 +690,48 @@ public class Board {
 		return king;
 	}
 	
-	public boolean isPieceEndangered(Piece piece, List<Piece> otherPieces) {
-		List<Move> otherMoves = getMoves(otherPieces, getOtherPlayer().isBlack());
-		if (!otherMoves.isEmpty()) {
-			for (Move m : otherMoves) {
-				
-				if (m.getVictim() != null && m.getVictim().equals(piece)) {
-					return true;
-				}
-			}
-		}
-		return false;
-	}
-
- 	private List<Move> getMoves(List<Piece> p, boolean isBlack) {
- 		// get all pieces from specific player
- 		if (p == null) {
- 			p = getPieces(isBlack);
+ 	// builds a detached copy of the live board, which can be searched or analyzed on any thread
+ 	public Position getPosition() {
+ 		return createPosition(blackPlays);
+ 	}
+ 	
+ 	private Position createPosition(boolean isBlack) {
+ 		Position snapshot = new Position();
+ 		snapshot.setEvaluation(evaluation);
+ 		updatePosition(snapshot, isBlack);
+ 		return snapshot;
+ 	}
+ 	
+ 	private void updatePosition(Position position, boolean isBlack) {
+ 		position.clear();
+ 		for (Piece p : whitePieces) {
+ 			position.put(p.getField().getSquare(), Position.WHITE, p.getType());
+ 		}
+ 		for (Piece p : blackPieces) {
+ 			position.put(p.getField().getSquare(), Position.BLACK, p.getType());
  		}
- 		List<Piece> pieces = new LinkedList<>(p);
- 		List<Move> moves = new LinkedList<>();
- 		for (Piece piece : pieces) {
- 			Optional.ofNullable(piece.getMoves()).ifPresent(moves::addAll);
+ 		position.setSide(isBlack ? Position.BLACK : Position.WHITE);
+ 		position.setCastling(getCastlingRights(false) | getCastlingRights(true));
+ 		if (enPassantEnabled && enPassantPiece != null) {
+ 			int square = enPassantPiece.getField().getSquare();
+ 			position.setEnPassantSquare(enPassantPiece.isBlack() ? square - 8 : square + 8);
  		}
- 		return moves;
+ 		position.setHalfMoves(countdown);
+ 		position.setPassingEnabled(enPassantEnabled);
+ 	}
+ 	
+ 	private int getCastlingRights(boolean isBlack) {
+ 		KingPiece king = (KingPiece) getKing(isBlack);
+ 		int rights = 0;
+ 		if (king != null) {
+ 			if (king.hasCastlingRight(true)) {
+ 				rights |= isBlack ? Position.BLACK_KING_SIDE : Position.WHITE_KING_SIDE;
+ 			}
+ 			if (king.hasCastlingRight(false)) {
+ 				rights |= isBlack ? Position.BLACK_QUEEN_SIDE : Position.WHITE_QUEEN_SIDE;
+ 			}
+ 		}
+ 		return rights;
  	}
  	
  	// ---------------------------------- BOARD STATE HANDLING ----------------------------------
@@ -600,14 +743,13 @@ public class Board {
  		
  		blackPlays = getPlayer().isBlack();
 
- 		gameStateCheck();
- 		currentMoves = getValidMoves(blackPlays, getMoves(null, blackPlays));
+ 		currentMoves = getValidMoves(blackPlays);
  		Move lastMove = getLastMove();
  		String lastMoveNotation = (lastMove == null) ? "-" : lastMove.getNotation();
  		
 
  		if (timeoutEnabled && (!editMode || !hasFutureMoves())) {
- 			int occurrences = getBoardOccurences(moveHistory, FenParser.getBoard(this));
+ 			int occurrences = getBoardOccurences(moveHistory, getKey());
  			String draw = null;
  			if (countdown > 100) {
  				draw = "(50 move rule)";
@@ -646,37 +788,6 @@ public class Board {
  		return false;
  	}
  	
- 	private void gameStateCheck() {
- 		int minPieces = 4;
- 		if (!endGame && difficulty.recursion()) {
- 			if (blackPieces.size() <= minPieces) {
- 				endGame = true;
- 				for (Piece p : blackPieces) {
- 					p.setEndTable(true);
- 				}
- 			}
- 			if (whitePieces.size() <= minPieces) {
- 				endGame = true;
- 				for (Piece p : whitePieces) {
- 					p.setEndTable(true);
- 				}
- 			}
- 			if (endGame) {
- 				recursionDepth++; 
- 				LOG.log(Level.INFO, "SYSTEM: recursive search horizon increased to: {0}", recursionDepth);
- 			}
- 		} else if (endGame && (getPieces(blackPlays).size() > minPieces && getPieces(!blackPlays).size() > minPieces) && difficulty.recursion()) {
- 			endGame = false;
- 			for (Piece p : blackPieces) {
-				p.setEndTable(false);
-			}
- 			for (Piece p : whitePieces) {
-				p.setEndTable(false);
-			}
-	 		recursionDepth = difficulty.tree();
- 		}
- 	}
- 	
  	private boolean insufficientMaterialCheck() {
  		int pieceSize = blackPieces.size() + whitePieces.size();
  		if (pieceSize == 2) {
@@ -706,10 +817,10 @@ public class Board {
  		return false;
  	}
 
-	private int getBoardOccurences(List<Move> posList, String pos) {
+	private int getBoardOccurences(List<Move> posList, long pos) {
 		int count = 0;
 		for (Move m : posList) {
-			if (pos.contentEquals(m.getFenBoard())) {
+			if (m.getKey() == pos) {
 				count++;
 			}
 		}
@@ -779,6 +890,33 @@ public class Board {
 		return isBlack ? blackPieces : whitePieces;
 	}
 	
+	// ---------------------------------- POSITION KEY ----------------------------------
+	
+	public void hashPiece(boolean isBlack, int type, Field field) {
+		key ^= Zobrist.piece(isBlack ? Position.BLACK : Position.WHITE, type, field.getSquare());
+	}
+	
+	public void hashSide() {
+		key ^= Zobrist.side();
+	}
+	
+	// pieces and side to move are updated by the moves, castling rights and en passant are added when the key is read
+	public long getKey() {
+		long k = key ^ Zobrist.castling(getCastlingRights(false) | getCastlingRights(true));
+		if (enPassantEnabled && enPassantPiece != null) {
+			k ^= Zobrist.enPassant(enPassantPiece.getField().getSquare());
+		}
+		return k;
+	}
+	
+	public long getOccupancy(boolean isBlack) {
+		long occupancy = 0L;
+		for (Piece p : getPieces(isBlack)) {
+			occupancy |= 1L << p.getField().getSquare();
+		}
+		return occupancy;
+	}
+	
 	public void addPiece(Piece piece) {
 		if (piece.isBlack()) {
 			blackPieces.add(piece);
@@ -884,12 +1022,11 @@ public class Board {
 		}
 	}
 	
-	public void showHints(MouseEvent event) {
+	public void showHints(Field field) {
 		if (!getPlayer().isAI() && !currentMoves.isEmpty()) {
 			if (!isNextMoveUnlocked) {
 				abortMove();
 			} else {
-				Field field = ((FieldButton) event.getSource()).getField();
 				Piece piece = field.getPiece();
 				if (piece != null) {	
 					for (Move m : currentMoves) {
@@ -952,31 +1089,42 @@ public class Board {
    
 	// ---------------------------------- INITIALIZATION ----------------------------------
 	
-	private void initializeFields(Setting settings) {
+	private void initializeFields() {
 		boolean black = false;
 		for (int row = 0; row < 8; row++) {
 			for (int column = 0; column < 8; column++) {
-				// create field and button
+				// create field, the user interface adds its control for it
 				Field field = new Field(column, row, black);
-				FieldButton button = new FieldButton(this, field);
-				field.setButton(button);	
-
 				fields[row][column] = field;
-				
-				// handle appearance on gui
-				if (black) {
-					button.getStyleClass().add("button-black");
-				} else {
-					button.getStyleClass().add("button-white");
-				}
-				
-				settings.getGrid().add(button, column, row);
+				game.getController().createField(this, field);
 				black = !black;
 			}
 			black = !black;
 		}
 	}
 
+	private void initializeEngine(int hashSize, int threads, String tablebasePath) {
+		evaluation = Engine.createEvaluation(pieceValues);
+		search = new Search(new Position(), evaluation, new TranspositionTable(hashSize), threads);
+		search.setPruning(difficulty.nullMove(), difficulty.reductions());
+		if (tablebasePath != null) {
+			search.setTablebase(Tablebase.open(Tablebase.resolve(tablebasePath)));
+		}
+	}
+
+	private void initializeKey() {
+		key = 0L;
+		for (Piece p : whitePieces) {
+			hashPiece(false, p.getType(), p.getField());
+		}
+		for (Piece p : blackPieces) {
+			hashPiece(true, p.getType(), p.getField());
+		}
+		if (blackPlays) {
+			hashSide();
+		}
+	}
+
 	private void initializePieces(String[][] fen) {
 		if (fen != null) {
 			PieceInitializer.initializeFen(this, fen);
@@ -1004,7 +1152,7 @@ public class Board {
 			if (!moveString.isEmpty()) {
 				for (String step : moveString) {
 					
-					pgnMoves = getValidMoves(turn, getMoves(null, turn));
+					pgnMoves = getValidMoves(turn);
 					Move preMove = PgnParser.parseMove(step, pgnMoves);
 					
 					if (preMove == null) {
@@ -1056,6 +1204,29 @@ public class Board {
 		}
 	}
 
+	public Move createMove(int code) {
+		int from = MoveCode.from(code);
+		int to = MoveCode.to(code);
+		Field startField = getField(from & 7, from >>> 3);
+		Field targetField = getField(to & 7, to >>> 3);
+		Piece piece = startField.getPiece();
+		switch (MoveCode.flag(code)) {
+			case MoveCode.KING_CASTLE:
+				return new CastlingMove(piece, getField(7, startField.getRow()).getPiece(), targetField, getField(5, startField.getRow()));
+			case MoveCode.QUEEN_CASTLE:
+				return new CastlingMove(piece, getField(0, startField.getRow()).getPiece(), targetField, getField(3, startField.getRow()));
+			case MoveCode.DOUBLE_PUSH:
+				return new PawnRunMove(piece, targetField, null);
+			case MoveCode.EN_PASSANT:
+				return new PassingMove(piece, targetField, enPassantPiece);
+			case MoveCode.QUEEN_PROMOTION:
+			case MoveCode.QUEEN_PROMOTION_CAPTURE:
+				return new PromotionMove(piece, piece, targetField, targetField.getPiece());
+			default:
+				return new Move(piece, targetField, targetField.getPiece());
+		}
+	}
+
 	// Add this overloaded createMove method for network moves
 	public Move createMove(String moveType, Piece piece, Field targetField, Piece victim) {
 	    // Create the appropriate type of move based on the moveType
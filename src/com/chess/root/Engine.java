@@ -0,0 +1,198 @@
+package com.chess.root;
+
+import java.util.Random;
+import com.chess.model.Difficulty;
+import com.chess.model.PieceValues;
+import com.chess.root.engine.Evaluation;
+import com.chess.root.engine.MoveCode;
+import com.chess.root.engine.Position;
+import com.chess.root.engine.Search;
+import com.chess.root.engine.SearchContext;
+import com.chess.root.engine.SearchStack;
+import com.chess.root.engine.Tablebase;
+import com.chess.root.engine.TranspositionTable;
+import com.chess.root.pieces.BishopPiece;
+import com.chess.root.pieces.KingPiece;
+import com.chess.root.pieces.KnightPiece;
+import com.chess.root.pieces.PawnPiece;
+import com.chess.root.pieces.QueenPiece;
+import com.chess.root.pieces.RookPiece;
+
+public class Engine {
+
+	// a clock is shared out as if this many moves were left, unless the GUI tells the moves to go
+	public static final int MOVES_TO_GO = 30;
+	// the levels which search one ply deeper if the position allows it get this many milliseconds for it
+	public static final int DEEPENING_TIME = 500;
+
+	private final Difficulty difficulty;
+	private final Evaluation evaluation;
+	private final TranspositionTable table;
+	private final Search search;
+	private final Random random = new Random();
+	private final int[] moveBuffer = new int[Position.MAX_MOVES];
+	private long nodeLimit = SearchContext.NO_LIMIT;
+	private boolean underPromotions;
+	private boolean randomTies = true;
+	private volatile SearchContext context = SearchContext.unlimited();
+
+	// an AI player without a board, it plays on positions like the game does for the given difficulty
+	public Engine(Difficulty difficulty, PieceValues pieceValues, int hashSize, int threads) {
+		this.difficulty = difficulty;
+		this.evaluation = createEvaluation(pieceValues);
+		this.table = new TranspositionTable(hashSize);
+		this.search = new Search(new Position(), evaluation, table, threads);
+		search.setPruning(difficulty.nullMove(), difficulty.reductions());
+	}
+
+	// the evaluation the game builds for its AI, with the position tables of the pieces
+	public static Evaluation createEvaluation(PieceValues pieceValues) {
+		Evaluation evaluation = new Evaluation(pieceValues);
+		for (int color = Position.WHITE; color <= Position.BLACK; color++) {
+			boolean isBlack = color == Position.BLACK;
+			evaluation.setTable(color, Position.PAWN, PawnPiece.getTable(isBlack));
+			evaluation.setTable(color, Position.KNIGHT, KnightPiece.getTable(isBlack));
+			evaluation.setTable(color, Position.BISHOP, BishopPiece.getTable(isBlack));
+			evaluation.setTable(color, Position.ROOK, RookPiece.getTable(isBlack));
+			evaluation.setTable(color, Position.QUEEN, QueenPiece.getTable(isBlack));
+			evaluation.setTable(color, Position.KING, KingPiece.getTable(isBlack, false));
+			evaluation.setKingEndTable(color, KingPiece.getTable(isBlack, true));
+		}
+		return evaluation;
+	}
+
+	// ---------------------------------- MOVE SELECTION ----------------------------------
+
+	// searches like the board does: within the budget in milliseconds, or to the depth of the difficulty if the budget is 0
+	public int getBestMove(Position position, int budget) {
+		if (budget > 0) {
+			int depth = difficulty.recursion() ? Search.MAX_DEPTH : difficulty.tree();
+			return getBestMove(position, 0, depth, new SearchContext(nodeLimit, System.currentTimeMillis() + budget));
+		} else if (difficulty.recursion()) {
+			return getBestMove(position, difficulty.tree(), difficulty.tree() + 1, new SearchContext(nodeLimit, System.currentTimeMillis() + DEEPENING_TIME));
+		}
+		return getBestMove(position, 0, difficulty.tree(), new SearchContext(nodeLimit, Search.NO_DEADLINE));
+	}
+
+	// rates the legal moves of the position and picks one of the best - or any, if the difficulty has a spasm - returns 0 if there is no move,
+	// a stop before the first iteration is done gives the best move found until then
+	public int getBestMove(Position position, int minDepth, int maxDepth, SearchContext context) {
+		this.context = context;
+		Position root = new Position(position);
+		root.setEvaluation(evaluation);
+		search.setPosition(root);
+		SearchStack stack = search.getStack();
+		int[] moves = stack.getMoves(0);
+		int count = generateMoves(root, moves);
+		stack.setCount(0, count);
+		if (count == 0) {
+			return 0;
+		}
+		search.rateMoves(minDepth, maxDepth, context);
+		if (random.nextInt(difficulty.spasm()) == 0) {
+			return moves[random.nextInt(count)];
+		}
+		if (search.getCompletedDepth() < 0) {
+			// stopped within the first iteration, the scores at the root are still those of an earlier search
+			return search.getCurrentMove();
+		}
+		// if multiple moves with same rating are given, take random move - or the expected one, if ties are not random
+		int[] scores = stack.getScores(0);
+		int[] line = search.getPrincipalVariation();
+		int best = 0;
+		int ties = 0;
+		for (int i = 0; i < count; i++) {
+			if (scores[i] > scores[best]) {
+				best = i;
+				ties = 1;
+			} else if (scores[i] == scores[best] && randomTies && random.nextInt(++ties) == 0) {
+				best = i;
+			}
+		}
+		if (!randomTies && line.length > 0) {
+			for (int i = 0; i < count; i++) {
+				if (moves[i] == line[0] && scores[i] == scores[best]) {
+					return line[0];
+				}
+			}
+		}
+		return moves[best];
+	}
+
+	// the milliseconds one move may take from a clock, the game, tournaments and UCI all share out their time like this
+	public static long getClockBudget(long left, long increment, int movesToGo) {
+		// an empty clock still allows the first iteration, which always completes
+		return Math.max(1, Math.min(left / 2, left / movesToGo + increment / 2));
+	}
+
+	// a clock replaces the fixed move time if there is one, a budget of 0 searches to the depth of the difficulty
+	public static int getMoveBudget(long[] clocks, int side, int clockIncrement, int moveTime) {
+		if (clocks != null) {
+			return (int) getClockBudget(clocks[side], clockIncrement, MOVES_TO_GO);
+		}
+		return moveTime;
+	}
+
+	// the legal moves of the position - like in the game, pawns only promote to queens unless under promotions are enabled
+	public int generateMoves(Position position, int[] moves) {
+		synchronized (moveBuffer) {
+			int total = position.generateMoves(moveBuffer);
+			long pinned = position.getPinned();
+			boolean inCheck = position.isInCheck();
+			int count = 0;
+			for (int i = 0; i < total; i++) {
+				int code = moveBuffer[i];
+				if ((underPromotions || !MoveCode.isPromotion(code) || MoveCode.promotion(code) == Position.QUEEN) && position.isLegal(code, pinned, inCheck)) {
+					moves[count++] = code;
+				}
+			}
+			return count;
+		}
+	}
+
+	// returns at once, the running search ends within a few thousand nodes
+	public void stop() {
+		context.stop();
+	}
+
+	// a new game starts without the positions of the last one
+	public void clear() {
+		table.clear();
+	}
+
+	// ---------------------------------- GENERIC GETTERS AND SETTERS ----------------------------------
+
+	public Difficulty getDifficulty() {
+		return difficulty;
+	}
+
+	public Evaluation getEvaluation() {
+		return evaluation;
+	}
+
+	public Search getSearch() {
+		return search;
+	}
+
+	public TranspositionTable getTable() {
+		return table;
+	}
+
+	public void setNodeLimit(long nodeLimit) {
+		this.nodeLimit = nodeLimit > 0 ? nodeLimit : SearchContext.NO_LIMIT;
+	}
+
+	// without random ties the same search always plays the same move, the first one of its expected line
+	public void setRandomTies(boolean randomTies) {
+		this.randomTies = randomTies;
+	}
+
+	public void setUnderPromotions(boolean underPromotions) {
+		this.underPromotions = underPromotions;
+	}
+
+	public void setTablebase(Tablebase tablebase) {
+		search.setTablebase(tablebase);
+	}
+
+}
@@ -1,24 +1,16 @@
 package com.chess.root;
 
 import java.io.Serializable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.FutureTask;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-import com.chess.application.FieldButton;
+import com.chess.root.engine.Position;
 import com.chess.root.pieces.Piece;
-import javafx.application.Platform;
-import javafx.scene.control.Button;
-import javafx.scene.image.ImageView;
 
 public class Field implements Serializable { // Implement Serializable
-	private transient FieldButton button; // Mark button as transient
+	private transient FieldListener listener; // Mark listener as transient
 	private int column;
 	private int row;
 	private boolean isBlack = false;
 	private Piece piece = null;
 	private String notation = "";
-	private static final Logger LOG = Logger.getLogger(String.class.getName());
 
 	public Field(int column, int row, boolean isBlack) {	
 		this.column = column;
@@ -42,8 +34,8 @@ public class Field implements Serializable { // Implement Serializable
 		}
 		if (this.piece == null || this.piece.equals(piece)) {
 			this.piece = piece;	
-			if(button != null) {
-				updateButton();
+			if(listener != null) {
+				listener.update(piece);
 			}
 			// set current field as property in the Piece class
 			setField(init);
@@ -52,41 +44,20 @@ public class Field implements Serializable { // Implement Serializable
 	
 	public void setRookPiece(Piece piece) {
 		this.piece = piece;
-		if(button != null) {
-			updateButton();
+		if(listener != null) {
+			listener.update(piece);
 		}
 		this.piece.setFieldSilently(this);
 	}
 	
-	public FieldButton getButton() {
-		return button;
-	}
-	
-	private void updateButton() {
-		if (Platform.isFxApplicationThread()) {
-			setButtonGraphic();
-			
-			// seems to be necessary...
-			Platform.runLater(() -> 
-				button.setText("")
-			);
-		} else {
-			
-			try {
-				updateUI();
-				
-			} catch (InterruptedException | ExecutionException e) {
-				LOG.log(Level.SEVERE, e.getMessage());
-				Thread.currentThread().interrupt();
-			} 
-		}
+	public FieldListener getListener() {
+		return listener;
 	}
 	
 	public void setOpacity(Double d) {
-		button.setOpacity(d);
-		Platform.runLater(() -> 
-			button.setOpacity(d)
-		);
+		if (listener != null) {
+			listener.highlight(d);
+		}
 	}
 	
 	private void setField(boolean init) {
@@ -107,44 +78,15 @@ public class Field implements Serializable { // Implement Serializable
 		}
 
 		this.piece = piece;
-		final ImageView x = piece.getSymbol();
-		Platform.runLater(() -> 
-			button.setText("o")
-		);
-
-		if (button != null) {
-			
-			updateButton();
-			Platform.runLater(() -> 
-				button.setGraphic(x)
-			);
-			
-			Platform.runLater(() -> 
-				button.getGraphic().setOpacity(1.0)
-			);
+		if (listener != null) {
+			listener.render(piece);
 		}
 		this.piece.setFieldSilently(this);
 	}
 	
 	public void render() {
-		if (piece == null) {
-			Platform.runLater(() -> 
-				button.setGraphic(null)
-			);
-		} else {
-
-			final ImageView x = piece.getSymbol();
-			Platform.runLater(() -> 
-				button.setText("o")
-			);
-	
-			updateButton();
-			Platform.runLater(() -> 
-				button.setGraphic(x)
-			);
-			Platform.runLater(() -> 
-				button.getGraphic().setOpacity(1.0)
-			);
+		if (listener != null) {
+			listener.render(piece);
 		}
 	}
 
@@ -152,53 +94,39 @@ public class Field implements Serializable { // Implement Serializable
 		if (this.piece != null) {
 			this.piece = null;
 			
-			if(!isVictim && button != null && button.getGraphic() != null) {
-				button.getGraphic().setOpacity(0.3);
+			if(!isVictim && listener != null) {
+				listener.fade();
 			}
 		}
 	}
 	
 	public void forceRemove() {
-		if(button != null) {
-			Platform.runLater(() -> 
-				clearButton()
-			);	
+		if(listener != null) {
+			listener.clear();
 		}
 	}
 	
 	public void flash() {
-		button.flash();
+		if (listener != null) {
+			listener.flash();
+		}
 	}
 	
 	public void waitMode(boolean wait) {
-		button.setWaitCursor(wait);
-	}
-
-	private void clearButton() {
-		button.setGraphic(null);
-		button.setText("");
+		if (listener != null) {
+			listener.setWaitCursor(wait);
+		}
 	}
 	
 	public void removePiece() {
 		if (this.piece != null) {
 			this.piece = null;
-			if(button != null) {
-				button.setText("");
-				Platform.runLater(() -> 
-					clearButton()
-				);	
+			if(listener != null) {
+				listener.clear();
 			}
 		}
 	}
 
-	public void setPieceSilently(Piece piece) {
-		this.piece = piece;
-	}
-
-	public void removePieceSilently() {
-		piece = null;
-	}
-	
 	// ---------------------------------- GENERIC SETTERS AND GETTERS ----------------------------------
 	
 	public Piece getPiece() {
@@ -289,30 +217,21 @@ public class Field implements Serializable { // Implement Serializable
 	public int getRow() {
 		return row;
 	}
+	
+	public int getSquare() {
+		return Position.square(column, row);
+	}
 
 	public boolean isBlack() {
 		return isBlack;
 	}
 
-	public void setButton(FieldButton button) {
-		this.button = button;
+	public void setListener(FieldListener listener) {
+		this.listener = listener;
 	}
 	
 	// ---------------------------------- GENERIC HELPER METHODS ----------------------------------
 
-	private void updateUI() throws InterruptedException, ExecutionException{
-		FutureTask<Void> updateUITask = new FutureTask<>(() -> 
-			setButtonGraphic()
-		, null);
-		Platform.runLater(updateUITask);
-		updateUITask.get();
-	}
-	
-	private void setButtonGraphic() {
-		button.setGraphic(piece.getSymbol());
-		button.getGraphic().setOpacity(1.0);
-	}
-
 	@Override
 	public String toString() {
 		return "field " + getColumn() + getRow();
@@ -0,0 +1,26 @@
+package com.chess.root;
+
+import com.chess.root.pieces.Piece;
+
+// the control which shows a field on the user interface, fields without one are only played on
+public interface FieldListener {
+
+	// shows the piece which was just set on the field
+	void update(Piece piece);
+
+	// redraws the field with its piece, or empty if the piece is null
+	void render(Piece piece);
+
+	// shows the piece of the field as lifted while a move is made
+	void fade();
+
+	void clear();
+
+	// dims the field to point out a possible move, 1.0 turns it back
+	void highlight(Double opacity);
+
+	void flash();
+
+	void setWaitCursor(boolean wait);
+
+}
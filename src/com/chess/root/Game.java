@@ -5,16 +5,14 @@ import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.io.IOException;
-import com.chess.application.GameController;
 import com.chess.model.Mode;
 import com.chess.model.Setting;
 import com.chess.network.NetworkManager;
 import com.chess.root.moves.Move;
-import javafx.application.Platform;
 
 public class Game {
 	
-	private GameController controller;
+	private GameListener controller;
 	private Board board;
 	private Player whitePlayer;
 	private Player blackPlayer;
@@ -34,7 +32,7 @@ public class Game {
 	private NetworkManager networkManager;
 	private boolean isOnlineGame;
 
-	public Game(GameController controller, Setting settings) {
+	public Game(GameListener controller, Setting settings) {
 		this.controller = controller;
 		setUpPlayers(settings.getColor(), settings.getMode(), settings.getFenPlayer());
 		setImportData(settings);
@@ -426,7 +424,7 @@ public class Game {
 	                final Move move = networkManager.receiveMove();
 	                
 	                if (move != null) {
-	                    Platform.runLater(() -> {
+	                    controller.runLater(() -> {
 	                        try {
 	                            LOG.log(Level.INFO, "Received opponent's move: {0}", move.getNotation());
 	                            
@@ -580,7 +578,7 @@ public class Game {
 	
 	// ---------------------------------- GENERIC GETTERS ----------------------------------
 	
-	public GameController getController() {
+	public GameListener getController() {
 		return controller;
 	}
 
@@ -590,7 +588,7 @@ public class Game {
 
 	// Add this method to the Game class to handle network disconnection
 	public void handleDisconnection() {
-	    Platform.runLater(() -> {
+	    controller.runLater(() -> {
 	        isOnlineGame = false;
 	        
 	        // Show disconnection message to user
@@ -0,0 +1,58 @@
+package com.chess.root;
+
+import java.util.List;
+import com.chess.root.moves.Move;
+
+// what a game reports to its user interface, every method does nothing by default so a game can also run without one
+public interface GameListener {
+
+	// called once for every field while the board is set up, the interface attaches its control for the field here
+	default void createField(Board board, Field field) {
+	}
+
+	default void setDisplay(String display) {
+	}
+
+	default void displayPlayer(Game game) {
+	}
+
+	default void renderDisplay() {
+	}
+
+	default void updateMoveCounter(String counter) {
+	}
+
+	default void updateTempFile(List<Move> moves) {
+	}
+
+	// ---------------------------------- EDIT MODE ----------------------------------
+
+	default void setGoBut(boolean activate) {
+	}
+
+	default void setBackBut(boolean activate) {
+	}
+
+	default void setForwardBut(boolean activate) {
+	}
+
+	default void requestFocusGo() {
+	}
+
+	default void requestFocusStop() {
+	}
+
+	default void requestFocusBack() {
+	}
+
+	default void requestFocusForward() {
+	}
+
+	// ---------------------------------- THREAD HANDLING ----------------------------------
+
+	// work of background threads which touches the interface is handed over here, without one it runs right away
+	default void runLater(Runnable task) {
+		task.run();
+	}
+
+}
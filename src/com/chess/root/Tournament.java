@@ -0,0 +1,448 @@
+package com.chess.root;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import com.chess.model.Difficulty;
+import com.chess.model.PieceValues;
+import com.chess.root.engine.MoveCode;
+import com.chess.root.engine.Perft;
+import com.chess.root.engine.Position;
+import com.chess.root.engine.Tablebase;
+
+public class Tournament {
+
+	private static final String USAGE = "usage: Tournament <DIFFICULTY[/PIECEVALUES]> <DIFFICULTY[/PIECEVALUES]> [--openings file] [--rounds n] "
+			+ "[--time ms | base+increment] [--nodes n] [--workers n] [--hash MB] [--tablebases dir] [--out dir]";
+	// the error bars are the 95% confidence interval
+	private static final double CONFIDENCE = 1.96;
+	private static final String PIECES = "PNBRQK";
+	private static final Logger LOG = Logger.getLogger(String.class.getName());
+
+	private final List<String> openings = new ArrayList<>();
+	private final Difficulty[] difficulties = new Difficulty[2];
+	private final PieceValues[] pieceValues = new PieceValues[2];
+	private int rounds = 1;
+	private int moveTime;
+	private long clockTime;
+	private int clockIncrement;
+	private long nodeLimit;
+	private int workers = Runtime.getRuntime().availableProcessors();
+	private int hashSize = 16;
+	private String tablebasePath;
+	private Path out = Paths.get("tournament");
+
+	private final AtomicInteger next = new AtomicInteger();
+	private int games;
+	// counted for the first player
+	private int wins;
+	private int draws;
+	private int losses;
+	private BufferedWriter pgnWriter;
+	private BufferedWriter resultWriter;
+
+	private Tournament() {
+	}
+
+	// ---------------------------------- MATCH HANDLING ----------------------------------
+
+	// every opening is played twice per round with swapped colors, each worker plays one game after the other with its own two engines
+	private void run() throws IOException, InterruptedException {
+		Files.createDirectories(out);
+		try (BufferedWriter pgn = Files.newBufferedWriter(out.resolve("games.pgn")); BufferedWriter results = Files.newBufferedWriter(out.resolve("results.csv"))) {
+			pgnWriter = pgn;
+			resultWriter = results;
+			resultWriter.write("game,round,opening,white,black,result,reason,plies,wins,draws,losses,elo,error");
+			resultWriter.newLine();
+			resultWriter.flush();
+			int total = openings.size() * rounds * 2;
+			Thread[] threads = new Thread[Math.max(1, Math.min(workers, total))];
+			for (int i = 0; i < threads.length; i++) {
+				threads[i] = new Thread(() -> work(total), "tournament-" + i);
+				threads[i].start();
+			}
+			for (Thread thread : threads) {
+				thread.join();
+			}
+		}
+		System.out.println();
+		System.out.println(getName(0) + " vs " + getName(1) + ": " + wins + " wins, " + draws + " draws, " + losses + " losses, elo " + getElo());
+	}
+
+	private void work(int total) {
+		Engine[] engines = { createEngine(0), createEngine(1) };
+		int index;
+		while ((index = next.getAndIncrement()) < total) {
+			String opening = openings.get(index / 2 % openings.size());
+			// the first player has white in even games
+			int first = index % 2;
+			String[] game = play(engines[first], engines[1 - first], opening);
+			try {
+				record(index, opening, first, game);
+			} catch (IOException e) {
+				LOG.log(Level.SEVERE, e.getMessage());
+				return;
+			}
+		}
+	}
+
+	private Engine createEngine(int player) {
+		Engine engine = new Engine(difficulties[player], pieceValues[player], hashSize, 1);
+		engine.setNodeLimit(nodeLimit);
+		if (tablebasePath != null) {
+			engine.setTablebase(Tablebase.open(Paths.get(tablebasePath)));
+		}
+		return engine;
+	}
+
+	// plays one game to its end and returns the result, the reason and the moves in standard algebraic notation
+	private String[] play(Engine white, Engine black, String fen) {
+		white.clear();
+		black.clear();
+		Engine[] engines = { white, black };
+		Position position = new Position();
+		position.setFen(fen);
+		long[] clocks = clockTime > 0 ? new long[] { clockTime, clockTime } : null;
+		List<Long> keys = new ArrayList<>();
+		keys.add(position.getKey());
+		int[] moves = new int[Position.MAX_MOVES];
+		StringBuilder movetext = new StringBuilder();
+		String[] fields = fen.trim().split("\\s+");
+		int moveNumber = fields.length > 5 ? Integer.parseInt(fields[5]) : 1;
+		int plies = 0;
+		while (true) {
+			int side = position.getSide();
+			Engine engine = engines[side];
+			if (engine.generateMoves(position, moves) == 0) {
+				if (position.isInCheck()) {
+					return new String[] { side == Position.WHITE ? "0-1" : "1-0", side == Position.WHITE ? "black mates" : "white mates", movetext.toString(), Integer.toString(plies) };
+				}
+				return new String[] { "1/2-1/2", "stalemate", movetext.toString(), Integer.toString(plies) };
+			}
+			String draw = getDraw(position, keys);
+			if (draw != null) {
+				return new String[] { "1/2-1/2", draw, movetext.toString(), Integer.toString(plies) };
+			}
+
+			long start = System.currentTimeMillis();
+			int move = engine.getBestMove(position, getMoveBudget(clocks, side));
+			if (clocks != null) {
+				// an empty clock still allows the first iteration, so nobody loses on time
+				clocks[side] = Math.max(0, clocks[side] - (System.currentTimeMillis() - start)) + clockIncrement;
+			}
+			if (side == Position.WHITE) {
+				movetext.append(moveNumber).append(". ");
+			} else if (plies == 0) {
+				movetext.append(moveNumber).append("... ");
+			}
+			movetext.append(toSan(engine, position, move)).append(' ');
+			if (side == Position.BLACK) {
+				moveNumber++;
+			}
+			// the game history is kept here, the position only holds the current state
+			position.make(move);
+			position = new Position(position);
+			keys.add(position.getKey());
+			plies++;
+		}
+	}
+
+	private int getMoveBudget(long[] clocks, int side) {
+		return Engine.getMoveBudget(clocks, side, clockIncrement, moveTime);
+	}
+
+	// the draws the board declares, with the same reasons
+	private static String getDraw(Position position, List<Long> keys) {
+		long key = position.getKey();
+		if (position.getHalfMoves() >= 100) {
+			return "50 move rule";
+		} else if (keys.stream().filter(k -> k == key).count() >= 3) {
+			return "threefold repetition";
+		} else if (isInsufficientMaterial(position)) {
+			return "insufficient material";
+		}
+		return null;
+	}
+
+	private static boolean isInsufficientMaterial(Position position) {
+		int pieces = Long.bitCount(position.getOccupancy());
+		long bishops = position.getPieces(Position.WHITE, Position.BISHOP) | position.getPieces(Position.BLACK, Position.BISHOP);
+		long knights = position.getPieces(Position.WHITE, Position.KNIGHT) | position.getPieces(Position.BLACK, Position.KNIGHT);
+		if (pieces == 2) {
+			return true;
+		} else if (pieces == 3) {
+			return bishops != 0 || knights != 0;
+		} else if (pieces == 4 && position.getPieces(Position.WHITE, Position.BISHOP) != 0 && position.getPieces(Position.BLACK, Position.BISHOP) != 0) {
+			// bishops on squares of the same color
+			int a = Long.numberOfTrailingZeros(bishops);
+			int b = 63 - Long.numberOfLeadingZeros(bishops);
+			return ((a >>> 3) + (a & 7)) % 2 == ((b >>> 3) + (b & 7)) % 2;
+		}
+		return false;
+	}
+
+	// ---------------------------------- RESULT HANDLING ----------------------------------
+
+	private synchronized void record(int index, String opening, int first, String[] game) throws IOException {
+		String white = getName(first);
+		String black = getName(1 - first);
+		String result = game[0];
+		if (result.equals("1/2-1/2")) {
+			draws++;
+		} else if (result.equals("1-0") == (first == 0)) {
+			wins++;
+		} else {
+			losses++;
+		}
+		games++;
+
+		pgnWriter.write(getTag("Event", getName(0) + " vs " + getName(1)));
+		pgnWriter.write(getTag("Site", "?"));
+		pgnWriter.write(getTag("Date", new SimpleDateFormat("yyyy.MM.dd").format(new Date())));
+		pgnWriter.write(getTag("Round", Integer.toString(index + 1)));
+		pgnWriter.write(getTag("White", white));
+		pgnWriter.write(getTag("Black", black));
+		pgnWriter.write(getTag("Result", result));
+		if (!opening.equals(Perft.START)) {
+			pgnWriter.write(getTag("SetUp", "1"));
+			pgnWriter.write(getTag("FEN", opening));
+		}
+		pgnWriter.write(getTag("PlyCount", game[3]));
+		pgnWriter.newLine();
+		pgnWriter.write(wrap(game[2] + "{" + game[1] + "} " + result));
+		pgnWriter.newLine();
+		pgnWriter.newLine();
+		pgnWriter.flush();
+
+		String[] elo = getEloBounds();
+		resultWriter.write(String.join(",", Integer.toString(index + 1), Integer.toString(index / 2 / openings.size() + 1), "\"" + opening + "\"", white, black, result,
+				game[1], game[3], Integer.toString(wins), Integer.toString(draws), Integer.toString(losses), elo[0], elo[1]));
+		resultWriter.newLine();
+		resultWriter.flush();
+
+		System.out.println(String.format("game %d/%d  %s - %s  %s (%s)  %d/%d/%d  elo %s", games, openings.size() * rounds * 2, white, black, result, game[1], wins, draws,
+				losses, getElo()));
+	}
+
+	// the elo difference of the first player and the half width of its confidence interval, from the score and its spread over the games
+	private String[] getEloBounds() {
+		double score = (wins + draws / 2.0) / games;
+		double variance = (wins * Math.pow(1 - score, 2) + draws * Math.pow(0.5 - score, 2) + losses * Math.pow(score, 2)) / games;
+		double deviation = Math.sqrt(variance / games);
+		double elo = toElo(score);
+		double error = (toElo(score + CONFIDENCE * deviation) - toElo(score - CONFIDENCE * deviation)) / 2;
+		if (Double.isNaN(error)) {
+			// all games won or all lost leaves no spread, the bound is as unknown as the difference itself
+			error = Double.POSITIVE_INFINITY;
+		}
+		return new String[] { format(elo), format(error) };
+	}
+
+	private String getElo() {
+		String[] elo = getEloBounds();
+		return elo[0] + " +/- " + elo[1];
+	}
+
+	private static double toElo(double score) {
+		if (score <= 0) {
+			return Double.NEGATIVE_INFINITY;
+		} else if (score >= 1) {
+			return Double.POSITIVE_INFINITY;
+		}
+		return -400 * Math.log10(1 / score - 1);
+	}
+
+	private static String format(double value) {
+		if (Double.isFinite(value)) {
+			return String.format(Locale.ROOT, "%.1f", value);
+		}
+		return value > 0 ? "inf" : "-inf";
+	}
+
+	private String getName(int player) {
+		return difficulties[player].name() + "/" + pieceValues[player].name();
+	}
+
+	private static String getTag(String tag, String s) {
+		return "[" + tag + " \"" + s + "\"]" + System.lineSeparator();
+	}
+
+	// movetext lines are kept below 80 characters
+	private static String wrap(String movetext) {
+		StringBuilder bld = new StringBuilder();
+		int length = 0;
+		for (String token : movetext.split(" ")) {
+			if (length > 0 && length + token.length() >= 80) {
+				bld.append(System.lineSeparator());
+				length = 0;
+			} else if (length > 0) {
+				bld.append(' ');
+				length++;
+			}
+			bld.append(token);
+			length += token.length();
+		}
+		return bld.toString();
+	}
+
+	// ---------------------------------- NOTATION ----------------------------------
+
+	private static String toSan(Engine engine, Position position, int move) {
+		int from = MoveCode.from(move);
+		int to = MoveCode.to(move);
+		int type = MoveCode.piece(move);
+		StringBuilder san = new StringBuilder();
+		if (MoveCode.isCastling(move)) {
+			san.append(MoveCode.flag(move) == MoveCode.KING_CASTLE ? "O-O" : "O-O-O");
+		} else {
+			if (type == Position.PAWN) {
+				if (MoveCode.isCapture(move)) {
+					san.append(Position.squareName(from).charAt(0));
+				}
+			} else {
+				san.append(PIECES.charAt(type)).append(getDisambiguation(engine, position, move));
+			}
+			if (MoveCode.isCapture(move)) {
+				san.append('x');
+			}
+			san.append(Position.squareName(to));
+			if (MoveCode.isPromotion(move)) {
+				san.append('=').append(PIECES.charAt(MoveCode.promotion(move)));
+			}
+		}
+		Position next = new Position(position);
+		next.make(move);
+		if (next.isInCheck()) {
+			san.append(engine.generateMoves(next, new int[Position.MAX_MOVES]) == 0 ? '#' : '+');
+		}
+		return san.toString();
+	}
+
+	// the file, the rank or both of the start field, if another piece of the same kind may move to the same field
+	private static String getDisambiguation(Engine engine, Position position, int move) {
+		int[] moves = new int[Position.MAX_MOVES];
+		int count = engine.generateMoves(position, moves);
+		int from = MoveCode.from(move);
+		boolean ambiguous = false;
+		boolean sameFile = false;
+		boolean sameRank = false;
+		for (int i = 0; i < count; i++) {
+			int other = MoveCode.from(moves[i]);
+			if (other != from && MoveCode.to(moves[i]) == MoveCode.to(move) && MoveCode.piece(moves[i]) == MoveCode.piece(move)) {
+				ambiguous = true;
+				sameFile |= (other & 7) == (from & 7);
+				sameRank |= (other >>> 3) == (from >>> 3);
+			}
+		}
+		String square = Position.squareName(from);
+		if (!ambiguous) {
+			return "";
+		} else if (!sameFile) {
+			return square.substring(0, 1);
+		} else if (!sameRank) {
+			return square.substring(1);
+		}
+		return square;
+	}
+
+	// ---------------------------------- INITIALIZATION ----------------------------------
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		Tournament tournament = new Tournament();
+		try {
+			tournament.parse(args);
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.err.println(USAGE);
+			System.exit(2);
+		}
+		tournament.run();
+	}
+
+	private void parse(String[] args) throws IOException {
+		List<String> players = new ArrayList<>();
+		for (int i = 0; i < args.length; i++) {
+			String arg = args[i];
+			if (!arg.startsWith("--")) {
+				players.add(arg);
+				continue;
+			}
+			if (i + 1 >= args.length) {
+				throw new IllegalArgumentException("missing value for " + arg);
+			}
+			String value = args[++i];
+			switch (arg) {
+				case "--openings":
+					readOpenings(Paths.get(value));
+					break;
+				case "--rounds":
+					rounds = Integer.parseInt(value);
+					break;
+				case "--time":
+					parseTime(value);
+					break;
+				case "--nodes":
+					nodeLimit = Long.parseLong(value);
+					break;
+				case "--workers":
+					workers = Integer.parseInt(value);
+					break;
+				case "--hash":
+					hashSize = Integer.parseInt(value);
+					break;
+				case "--tablebases":
+					tablebasePath = value;
+					break;
+				case "--out":
+					out = Paths.get(value);
+					break;
+				default:
+					throw new IllegalArgumentException("unknown option: " + arg);
+			}
+		}
+		if (players.size() != 2) {
+			throw new IllegalArgumentException("two players expected");
+		}
+		for (int player = 0; player < 2; player++) {
+			String[] parts = players.get(player).toUpperCase(Locale.ROOT).split("/");
+			difficulties[player] = Difficulty.valueOf(parts[0]);
+			pieceValues[player] = PieceValues.valueOf(parts.length > 1 ? parts[1] : parts[0]);
+		}
+		if (openings.isEmpty()) {
+			openings.add(Perft.START);
+		}
+	}
+
+	// one FEN per line, empty lines and lines starting with # are skipped
+	private void readOpenings(Path file) throws IOException {
+		for (String line : Files.readAllLines(file)) {
+			String fen = line.trim();
+			if (!fen.isEmpty() && !fen.startsWith("#")) {
+				new Position().setFen(fen);
+				openings.add(fen);
+			}
+		}
+	}
+
+	// 0 searches to the depth of the difficulty, a single number is the time per move, base+increment a clock for the whole game, all in milliseconds
+	private void parseTime(String value) {
+		if (value.contains("+")) {
+			String[] parts = value.split("\\+");
+			clockTime = Long.parseLong(parts[0]);
+			clockIncrement = Integer.parseInt(parts[1]);
+		} else {
+			moveTime = Integer.parseInt(value);
+		}
+	}
+
+}
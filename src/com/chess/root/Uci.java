@@ -0,0 +1,391 @@
+package com.chess.root;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+import com.chess.model.Difficulty;
+import com.chess.model.PieceValues;
+import com.chess.root.engine.MoveCode;
+import com.chess.root.engine.Perft;
+import com.chess.root.engine.Position;
+import com.chess.root.engine.Search;
+import com.chess.root.engine.SearchContext;
+import com.chess.root.engine.SearchStack;
+import com.chess.root.engine.Tablebase;
+
+public class Uci {
+
+	private static final int MAX_HASH = 4096;
+	private static final int MAX_THREADS = 64;
+
+	private Engine engine;
+	private boolean changed = true;
+	private int hashSize = 16;
+	private int threads = 1;
+	private Difficulty difficulty = Difficulty.SUPERSUPERHARD;
+	private PieceValues pieceValues = PieceValues.SUPERSUPERHARD;
+	private String tablebasePath;
+	private Position position = new Position();
+
+	private Thread searchThread;
+	private volatile SearchContext context = SearchContext.unlimited();
+	// while set, the best move is held back until stop or ponderhit, as the protocol asks for infinite and ponder searches
+	private volatile boolean waiting;
+	private volatile long ponderBudget;
+
+	public Uci() {
+		position.setFen(Perft.START);
+	}
+
+	// ---------------------------------- COMMAND HANDLING ----------------------------------
+
+	// reads commands until quit or the end of the input
+	public void run(BufferedReader in) throws IOException {
+		String line;
+		while ((line = in.readLine()) != null) {
+			String[] tokens = line.trim().split("\\s+");
+			switch (tokens[0]) {
+				case "uci":
+					send("id name Chess");
+					send("id author lpapailiou");
+					send("option name Hash type spin default 16 min 1 max " + MAX_HASH);
+					send("option name Threads type spin default 1 min 1 max " + MAX_THREADS);
+					send("option name Ponder type check default false");
+					send("option name Difficulty type combo default " + Difficulty.SUPERSUPERHARD.name() + getVars(Difficulty.values()));
+					send("option name PieceValues type combo default " + PieceValues.SUPERSUPERHARD.name() + getVars(PieceValues.values()));
+					send("option name Tablebases type string default <empty>");
+					send("uciok");
+					break;
+				case "isready":
+					// answered at once, even while searching
+					getEngine();
+					send("readyok");
+					break;
+				case "setoption":
+					stopSearch();
+					setOption(line);
+					break;
+				case "ucinewgame":
+					stopSearch();
+					getEngine().clear();
+					break;
+				case "position":
+					stopSearch();
+					setPosition(tokens);
+					break;
+				case "go":
+					stopSearch();
+					go(tokens);
+					break;
+				case "stop":
+					stopSearch();
+					break;
+				case "ponderhit":
+					ponderHit();
+					break;
+				case "quit":
+					stopSearch();
+					return;
+				default:
+					break;
+			}
+		}
+		stopSearch();
+	}
+
+	private void setOption(String line) {
+		int nameIndex = line.indexOf(" name ");
+		int valueIndex = line.indexOf(" value ");
+		if (nameIndex < 0) {
+			return;
+		}
+		String name = (valueIndex < 0 ? line.substring(nameIndex + 6) : line.substring(nameIndex + 6, valueIndex)).trim();
+		String value = valueIndex < 0 ? "" : line.substring(valueIndex + 7).trim();
+		try {
+			switch (name.toLowerCase(Locale.ROOT)) {
+				case "hash":
+					hashSize = Math.max(1, Math.min(MAX_HASH, Integer.parseInt(value)));
+					break;
+				case "threads":
+					threads = Math.max(1, Math.min(MAX_THREADS, Integer.parseInt(value)));
+					break;
+				case "difficulty":
+					difficulty = Difficulty.valueOf(value.toUpperCase(Locale.ROOT));
+					break;
+				case "piecevalues":
+					pieceValues = PieceValues.valueOf(value.toUpperCase(Locale.ROOT));
+					break;
+				case "tablebases":
+					tablebasePath = value.isEmpty() || value.equals("<empty>") ? null : value;
+					break;
+				default:
+					// ponder needs no setting, the GUI decides when to send go ponder
+					return;
+			}
+			changed = true;
+		} catch (IllegalArgumentException e) {
+			send("info string invalid value for " + name + ": " + value);
+		}
+	}
+
+	// position [startpos | fen <fen>] [moves <move>...]
+	private void setPosition(String[] tokens) {
+		int movesIndex = Arrays.asList(tokens).indexOf("moves");
+		int end = movesIndex < 0 ? tokens.length : movesIndex;
+		Position next = new Position();
+		try {
+			if (tokens.length > 1 && tokens[1].equals("fen")) {
+				next.setFen(String.join(" ", Arrays.copyOfRange(tokens, 2, end)));
+			} else {
+				next.setFen(Perft.START);
+			}
+			if (movesIndex >= 0) {
+				for (int i = movesIndex + 1; i < tokens.length; i++) {
+					int move = findMove(next, tokens[i]);
+					if (move == 0) {
+						send("info string illegal move: " + tokens[i]);
+						return;
+					}
+					next.make(move);
+					// the position keeps no history, so long games never run out of plies
+					next = new Position(next);
+				}
+			}
+		} catch (IllegalArgumentException e) {
+			send("info string invalid position: " + e.getMessage());
+			return;
+		}
+		position = next;
+	}
+
+	private int findMove(Position position, String notation) {
+		int[] moves = new int[Position.MAX_MOVES];
+		int count = getEngine().generateMoves(position, moves);
+		for (int i = 0; i < count; i++) {
+			if (MoveCode.toString(moves[i]).equals(notation)) {
+				return moves[i];
+			}
+		}
+		return 0;
+	}
+
+	// ---------------------------------- SEARCH HANDLING ----------------------------------
+
+	// go [ponder] [wtime n] [btime n] [winc n] [binc n] [movestogo n] [depth n] [nodes n] [movetime n] [infinite]
+	private void go(String[] tokens) {
+		long[] times = { -1, -1 };
+		long[] increments = { 0, 0 };
+		int movesToGo = Engine.MOVES_TO_GO;
+		int depth = Search.MAX_DEPTH;
+		long nodes = SearchContext.NO_LIMIT;
+		long moveTime = -1;
+		boolean infinite = false;
+		boolean ponder = false;
+		try {
+			for (int i = 1; i < tokens.length; i++) {
+				switch (tokens[i]) {
+					case "wtime":
+						times[Position.WHITE] = Long.parseLong(tokens[++i]);
+						break;
+					case "btime":
+						times[Position.BLACK] = Long.parseLong(tokens[++i]);
+						break;
+					case "winc":
+						increments[Position.WHITE] = Long.parseLong(tokens[++i]);
+						break;
+					case "binc":
+						increments[Position.BLACK] = Long.parseLong(tokens[++i]);
+						break;
+					case "movestogo":
+						movesToGo = Math.max(1, Integer.parseInt(tokens[++i]));
+						break;
+					case "depth":
+						// the search counts the replies to the root moves
+						depth = Math.max(0, Math.min(Search.MAX_DEPTH, Integer.parseInt(tokens[++i]) - 1));
+						break;
+					case "nodes":
+						nodes = Long.parseLong(tokens[++i]);
+						break;
+					case "movetime":
+						moveTime = Long.parseLong(tokens[++i]);
+						break;
+					case "infinite":
+						infinite = true;
+						break;
+					case "ponder":
+						ponder = true;
+						break;
+					default:
+						break;
+				}
+			}
+		} catch (RuntimeException e) {
+			// whatever was parsed may leave the search without any bound, so the move is searched to the depth of the difficulty instead
+			send("info string invalid go command, searching to depth " + (difficulty.tree() + 1));
+			times[Position.WHITE] = -1;
+			times[Position.BLACK] = -1;
+			moveTime = -1;
+			nodes = SearchContext.NO_LIMIT;
+			depth = difficulty.tree();
+			infinite = false;
+			ponder = false;
+		}
+
+		int side = position.getSide();
+		long budget = -1;
+		if (moveTime >= 0) {
+			budget = moveTime;
+		} else if (times[side] >= 0) {
+			budget = Engine.getClockBudget(times[side], increments[side], movesToGo);
+		}
+		// a ponder search runs until the GUI tells whether the expected move was played, the time only counts from then on
+		long deadline = budget < 0 || ponder ? Search.NO_DEADLINE : System.currentTimeMillis() + budget;
+		ponderBudget = ponder ? budget : -1;
+		waiting = infinite || ponder;
+		context = new SearchContext(nodes, deadline);
+		Engine searchEngine = getEngine();
+		Position root = new Position(position);
+		int maxDepth = depth;
+		SearchContext searchContext = context;
+		searchThread = new Thread(() -> search(searchEngine, root, maxDepth, searchContext), "uci-search");
+		searchThread.start();
+	}
+
+	private void search(Engine searchEngine, Position root, int depth, SearchContext searchContext) {
+		long start = System.currentTimeMillis();
+		long searched = searchEngine.getSearch().getNodes();
+		int move = searchEngine.getBestMove(root, 0, depth, searchContext);
+		sendInfo(searchEngine, move, searchEngine.getSearch().getNodes() - searched, System.currentTimeMillis() - start);
+		synchronized (this) {
+			while (waiting && !searchContext.isStopped()) {
+				try {
+					wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+		}
+		int[] line = searchEngine.getSearch().getPrincipalVariation();
+		if (move == 0) {
+			send("bestmove 0000");
+		} else if (line.length > 1 && line[0] == move) {
+			send("bestmove " + MoveCode.toString(move) + " ponder " + MoveCode.toString(line[1]));
+		} else {
+			send("bestmove " + MoveCode.toString(move));
+		}
+	}
+
+	// the expected move was played, the ponder search goes on as a normal one with the time of the go command
+	private void ponderHit() {
+		long budget = ponderBudget;
+		SearchContext searchContext = context;
+		synchronized (this) {
+			waiting = false;
+			notifyAll();
+		}
+		if (budget >= 0) {
+			Thread timer = new Thread(() -> {
+				try {
+					Thread.sleep(budget);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				searchContext.stop();
+			}, "uci-timer");
+			timer.setDaemon(true);
+			timer.start();
+		}
+	}
+
+	// stops a running search and waits for it to send its best move
+	private void stopSearch() {
+		if (searchThread == null) {
+			return;
+		}
+		context.stop();
+		synchronized (this) {
+			notifyAll();
+		}
+		try {
+			searchThread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		searchThread = null;
+	}
+
+	private void sendInfo(Engine searchEngine, int move, long nodes, long millis) {
+		Search search = searchEngine.getSearch();
+		SearchStack stack = search.getStack();
+		int score = 0;
+		for (int i = 0; i < stack.getCount(0); i++) {
+			if (stack.getMoves(0)[i] == move) {
+				score = stack.getScores(0)[i];
+			}
+		}
+		StringBuilder info = new StringBuilder("info depth ").append(Math.max(0, search.getCompletedDepth()) + 1);
+		info.append(" score ").append(getScore(searchEngine, score));
+		info.append(" nodes ").append(nodes).append(" time ").append(millis);
+		info.append(" nps ").append(millis == 0 ? nodes : nodes * 1000 / millis);
+		int[] line = search.getPrincipalVariation();
+		if (line.length > 0) {
+			info.append(" pv");
+			for (int code : line) {
+				info.append(' ').append(MoveCode.toString(code));
+			}
+		}
+		send(info.toString());
+	}
+
+	// centipawns are counted in the pawn value of the evaluation, mates in moves
+	private static String getScore(Engine searchEngine, int score) {
+		if (score > Search.MATE - Position.MAX_PLY) {
+			return "mate " + (Search.MATE - score + 1) / 2;
+		} else if (score < -Search.MATE + Position.MAX_PLY) {
+			return "mate -" + (Search.MATE + score) / 2;
+		}
+		int pawn = Math.max(1, Math.abs(searchEngine.getEvaluation().value(Position.PAWN)));
+		return "cp " + score * 100 / pawn;
+	}
+
+	// ---------------------------------- HELPER METHODS ----------------------------------
+
+	// the engine is only built again once an option changed, so the hash table survives between moves
+	private Engine getEngine() {
+		if (changed || engine == null) {
+			engine = new Engine(difficulty, pieceValues, hashSize, threads);
+			engine.setUnderPromotions(true);
+			// a regression test against other engines needs the same move for the same search, and the one of the line it reports
+			engine.setRandomTies(false);
+			if (tablebasePath != null) {
+				engine.setTablebase(Tablebase.open(Paths.get(tablebasePath)));
+			}
+			changed = false;
+		}
+		return engine;
+	}
+
+	private static String getVars(Enum<?>[] values) {
+		StringBuilder vars = new StringBuilder();
+		for (Enum<?> value : values) {
+			vars.append(" var ").append(value.name());
+		}
+		return vars.toString();
+	}
+
+	private static synchronized void send(String message) {
+		System.out.println(message);
+		System.out.flush();
+	}
+
+	public static void main(String[] args) throws IOException {
+		new Uci().run(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)));
+		System.exit(0);
+	}
+
+}
@@ -0,0 +1,169 @@
+package com.chess.root.engine;
+
+public class Attacks {
+
+	// squares are numbered row by row starting at a8 (0) and ending at h1 (63), matching Board.getField(column, row)
+	public static final long FILE_A = 0x0101010101010101L;
+	public static final long FILE_H = 0x8080808080808080L;
+
+	private static final int[][] KNIGHT_STEPS = { {-1, 2}, {-2, 1}, {1, 2}, {2, 1}, {1, -2}, {2, -1}, {-1, -2}, {-2, -1} };
+	private static final int[][] KING_STEPS = { {-1, 1}, {1, 1}, {1, -1}, {-1, -1}, {0, -1}, {0, 1}, {-1, 0}, {1, 0} };
+	private static final int[][] ROOK_DIRECTIONS = { {0, -1}, {0, 1}, {-1, 0}, {1, 0} };
+	private static final int[][] BISHOP_DIRECTIONS = { {-1, 1}, {1, 1}, {1, -1}, {-1, -1} };
+
+	private static final long[] KNIGHT = new long[64];
+	private static final long[] KING = new long[64];
+	private static final long[][] PAWN = new long[2][64];
+	static final long[][] ROOK_RAYS = new long[4][64];
+	static final long[][] BISHOP_RAYS = new long[4][64];
+
+	// magic bitboards: the relevant blockers of a square are hashed to an index into its precomputed attack table
+	private static final long[] ROOK_MASK = new long[64];
+	private static final long[] ROOK_MAGIC = new long[64];
+	private static final int[] ROOK_SHIFT = new int[64];
+	private static final long[][] ROOK_TABLE = new long[64][];
+	private static final long[] BISHOP_MASK = new long[64];
+	private static final long[] BISHOP_MAGIC = new long[64];
+	private static final int[] BISHOP_SHIFT = new int[64];
+	private static final long[][] BISHOP_TABLE = new long[64][];
+
+	// squares strictly between two aligned squares and the whole line through them, empty if they are not aligned
+	private static final long[][] BETWEEN = new long[64][64];
+	private static final long[][] LINE = new long[64][64];
+
+	static {
+		for (int square = 0; square < 64; square++) {
+			KNIGHT[square] = steps(square, KNIGHT_STEPS);
+			KING[square] = steps(square, KING_STEPS);
+			PAWN[Position.WHITE][square] = steps(square, new int[][] { {-1, -1}, {1, -1} });
+			PAWN[Position.BLACK][square] = steps(square, new int[][] { {-1, 1}, {1, 1} });
+			for (int i = 0; i < 4; i++) {
+				ROOK_RAYS[i][square] = ray(square, ROOK_DIRECTIONS[i]);
+				BISHOP_RAYS[i][square] = ray(square, BISHOP_DIRECTIONS[i]);
+			}
+		}
+		for (int square = 0; square < 64; square++) {
+			ROOK_MASK[square] = mask(ROOK_RAYS, square);
+			ROOK_MAGIC[square] = Magics.getMagic(true, ROOK_RAYS, square, ROOK_MASK[square]);
+			ROOK_SHIFT[square] = 64 - Long.bitCount(ROOK_MASK[square]);
+			ROOK_TABLE[square] = Magics.createTable(ROOK_RAYS, square, ROOK_MASK[square], ROOK_MAGIC[square]);
+			BISHOP_MASK[square] = mask(BISHOP_RAYS, square);
+			BISHOP_MAGIC[square] = Magics.getMagic(false, BISHOP_RAYS, square, BISHOP_MASK[square]);
+			BISHOP_SHIFT[square] = 64 - Long.bitCount(BISHOP_MASK[square]);
+			BISHOP_TABLE[square] = Magics.createTable(BISHOP_RAYS, square, BISHOP_MASK[square], BISHOP_MAGIC[square]);
+		}
+		for (int a = 0; a < 64; a++) {
+			for (int b = 0; b < 64; b++) {
+				if (a == b) {
+					continue;
+				}
+				long ends = (1L << a) | (1L << b);
+				if ((rook(a, 0L) & (1L << b)) != 0) {
+					BETWEEN[a][b] = rook(a, 1L << b) & rook(b, 1L << a);
+					LINE[a][b] = (rook(a, 0L) & rook(b, 0L)) | ends;
+				} else if ((bishop(a, 0L) & (1L << b)) != 0) {
+					BETWEEN[a][b] = bishop(a, 1L << b) & bishop(b, 1L << a);
+					LINE[a][b] = (bishop(a, 0L) & bishop(b, 0L)) | ends;
+				}
+			}
+		}
+	}
+
+	private Attacks() {
+	}
+
+	// ---------------------------------- ATTACK LOOKUP ----------------------------------
+
+	public static long knight(int square) {
+		return KNIGHT[square];
+	}
+
+	public static long king(int square) {
+		return KING[square];
+	}
+
+	public static long pawn(int color, int square) {
+		return PAWN[color][square];
+	}
+
+	public static long rook(int square, long occupancy) {
+		return ROOK_TABLE[square][(int) (((occupancy & ROOK_MASK[square]) * ROOK_MAGIC[square]) >>> ROOK_SHIFT[square])];
+	}
+
+	public static long bishop(int square, long occupancy) {
+		return BISHOP_TABLE[square][(int) (((occupancy & BISHOP_MASK[square]) * BISHOP_MAGIC[square]) >>> BISHOP_SHIFT[square])];
+	}
+
+	public static long queen(int square, long occupancy) {
+		return rook(square, occupancy) | bishop(square, occupancy);
+	}
+
+	public static long between(int from, int to) {
+		return BETWEEN[from][to];
+	}
+
+	public static long line(int from, int to) {
+		return LINE[from][to];
+	}
+
+	// ---------------------------------- HELPER METHODS ----------------------------------
+
+	// slow reference implementation, only used to fill the magic tables
+	static long slide(long[][] rays, int square, long occupancy) {
+		long attacks = 0L;
+		for (long[] direction : rays) {
+			long ray = direction[square];
+			long blockers = ray & occupancy;
+			if (blockers != 0) {
+				int lowest = Long.numberOfTrailingZeros(blockers);
+				int blocker = lowest > square ? lowest : 63 - Long.numberOfLeadingZeros(blockers);
+				ray &= ~direction[blocker];
+			}
+			attacks |= ray;
+		}
+		return attacks;
+	}
+
+	// the last square of each ray can never block, so it is left out of the relevant occupancy
+	static long mask(long[][] rays, int square) {
+		long mask = 0L;
+		for (long[] direction : rays) {
+			long ray = direction[square];
+			while (ray != 0) {
+				int next = Long.numberOfTrailingZeros(ray);
+				if (direction[next] != 0) {
+					mask |= 1L << next;
+				}
+				ray &= ray - 1;
+			}
+		}
+		return mask;
+	}
+
+	private static long steps(int square, int[][] steps) {
+		long mask = 0L;
+		int col = square & 7;
+		int row = square >>> 3;
+		for (int[] step : steps) {
+			int c = col + step[0];
+			int r = row + step[1];
+			if (c >= 0 && c < 8 && r >= 0 && r < 8) {
+				mask |= 1L << (r * 8 + c);
+			}
+		}
+		return mask;
+	}
+
+	private static long ray(int square, int[] direction) {
+		long mask = 0L;
+		int c = (square & 7) + direction[0];
+		int r = (square >>> 3) + direction[1];
+		while (c >= 0 && c < 8 && r >= 0 && r < 8) {
+			mask |= 1L << (r * 8 + c);
+			c += direction[0];
+			r += direction[1];
+		}
+		return mask;
+	}
+
+}
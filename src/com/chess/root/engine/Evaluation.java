@@ -0,0 +1,97 @@
+package com.chess.root.engine;
+
+import com.chess.model.PieceValues;
+
+public class Evaluation {
+
+	// weight of each piece type in the game phase, a full set of pieces adds up to the total
+	public static final int TOTAL_PHASE = 24;
+	private static final int[] PHASE = { 0, 1, 1, 2, 4, 0 };
+
+	private final int[] values = new int[6];
+	private final int[][][] tables = new int[2][6][64];
+	private final int[][][] endTables = new int[2][6][64];
+
+	public Evaluation(PieceValues pieceValues) {
+		values[Position.PAWN] = pieceValues.pawn();
+		values[Position.KNIGHT] = pieceValues.knight();
+		values[Position.BISHOP] = pieceValues.bishop();
+		values[Position.ROOK] = pieceValues.rook();
+		values[Position.QUEEN] = pieceValues.queen();
+		values[Position.KING] = pieceValues.king();
+	}
+
+	// ---------------------------------- TABLE SETUP ----------------------------------
+
+	// registers a position table as used by the pieces, indexed by [row][column] - it applies to both phases until an end table is given
+	public void setTable(int color, int type, int[][] table) {
+		copy(table, tables[color][type]);
+		copy(table, endTables[color][type]);
+	}
+
+	public void setKingEndTable(int color, int[][] table) {
+		copy(table, endTables[color][Position.KING]);
+	}
+
+	// ---------------------------------- EVALUATION ----------------------------------
+
+	// rates the material and piece positions from the perspective of the side to move, blending the middle and end game tables by the remaining material
+	public int evaluate(Position position) {
+		int us = position.getSide();
+		if (position.getEvaluation() == this) {
+			// the position keeps the totals up to date with every move
+			return taper(position.getScore(us, false) - position.getScore(us ^ 1, false), position.getScore(us, true) - position.getScore(us ^ 1, true), position.getPhase());
+		}
+		return taper(material(position, us, false) - material(position, us ^ 1, false), material(position, us, true) - material(position, us ^ 1, true), phase(position));
+	}
+
+	public int material(Position position, int color, boolean end) {
+		int value = 0;
+		int[][] table = end ? endTables[color] : tables[color];
+		for (int type = Position.PAWN; type <= Position.KING; type++) {
+			long bits = position.getPieces(color, type);
+			while (bits != 0) {
+				value += values[type] + table[type][Long.numberOfTrailingZeros(bits)];
+				bits &= bits - 1;
+			}
+		}
+		return value;
+	}
+
+	public int phase(Position position) {
+		int phase = 0;
+		for (int color = Position.WHITE; color <= Position.BLACK; color++) {
+			for (int type = Position.KNIGHT; type <= Position.QUEEN; type++) {
+				phase += PHASE[type] * Long.bitCount(position.getPieces(color, type));
+			}
+		}
+		return phase;
+	}
+
+	public int value(int type) {
+		return values[type];
+	}
+
+	public int weight(int color, int type, int square, boolean end) {
+		return values[type] + (end ? endTables : tables)[color][type][square];
+	}
+
+	public static int phase(int type) {
+		return PHASE[type];
+	}
+
+	// promotions may push the phase above the total, such positions still count as middle game
+	private static int taper(int middle, int end, int phase) {
+		int weight = Math.min(phase, TOTAL_PHASE);
+		return (middle * weight + end * (TOTAL_PHASE - weight)) / TOTAL_PHASE;
+	}
+
+	// ---------------------------------- HELPER METHODS ----------------------------------
+
+	private static void copy(int[][] table, int[] target) {
+		for (int row = 0; row < 8; row++) {
+			System.arraycopy(table[row], 0, target, row * 8, 8);
+		}
+	}
+
+}
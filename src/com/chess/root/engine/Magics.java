@@ -0,0 +1,135 @@
+package com.chess.root.engine;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class Magics {
+
+	// 64 rook magics followed by 64 bishop magics, one hexadecimal number per line
+	private static final String RESOURCE = "com/chess/resources/magics.txt";
+	private static final long SEED = 728L;
+	private static final Logger LOG = Logger.getLogger(String.class.getName());
+
+	private static long[] stored;
+
+	private Magics() {
+	}
+
+	// ---------------------------------- TABLE SETUP ----------------------------------
+
+	// returns the attack table of a slider on the given square, indexed by (occupancy & mask) * magic >>> shift
+	static long[] createTable(long[][] rays, int square, long mask, long magic) {
+		int bits = Long.bitCount(mask);
+		long[] table = new long[1 << bits];
+		boolean[] used = new boolean[table.length];
+		long subset = 0L;
+		do {
+			long attacks = Attacks.slide(rays, square, subset);
+			int index = (int) ((subset * magic) >>> (64 - bits));
+			if (used[index] && table[index] != attacks) {
+				return null;
+			}
+			used[index] = true;
+			table[index] = attacks;
+			subset = (subset - mask) & mask;
+		} while (subset != 0);
+		return table;
+	}
+
+	// loads a magic from the resource file or searches a new one if it is missing or does not fit the mask
+	static long getMagic(boolean rook, long[][] rays, int square, long mask) {
+		long[] magics = getStored();
+		int index = rook ? square : 64 + square;
+		if (magics != null && createTable(rays, square, mask, magics[index]) != null) {
+			return magics[index];
+		}
+		return findMagic(rays, square, mask, new Random(SEED + index));
+	}
+
+	static long findMagic(long[][] rays, int square, long mask, Random random) {
+		int bits = Long.bitCount(mask);
+		long[] subsets = new long[1 << bits];
+		long[] attacks = new long[subsets.length];
+		int count = 0;
+		long subset = 0L;
+		do {
+			subsets[count] = subset;
+			attacks[count++] = Attacks.slide(rays, square, subset);
+			subset = (subset - mask) & mask;
+		} while (subset != 0);
+
+		long[] table = new long[subsets.length];
+		int[] tried = new int[subsets.length];
+		for (int attempt = 1;; attempt++) {
+			// sparse candidates are far more likely to map the subsets without collisions
+			long magic = random.nextLong() & random.nextLong() & random.nextLong();
+			if (Long.bitCount((mask * magic) & 0xFF00000000000000L) < 6) {
+				continue;
+			}
+			boolean valid = true;
+			for (int i = 0; i < count && valid; i++) {
+				int index = (int) ((subsets[i] * magic) >>> (64 - bits));
+				if (tried[index] != attempt) {
+					tried[index] = attempt;
+					table[index] = attacks[i];
+				} else if (table[index] != attacks[i]) {
+					valid = false;
+				}
+			}
+			if (valid) {
+				return magic;
+			}
+		}
+	}
+
+	// ---------------------------------- HELPER METHODS ----------------------------------
+
+	private static synchronized long[] getStored() {
+		if (stored == null) {
+			stored = load();
+		}
+		return stored.length == 128 ? stored : null;
+	}
+
+	private static long[] load() {
+		long[] magics = new long[128];
+		int count = 0;
+		try (InputStream stream = Magics.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+			if (stream == null) {
+				return new long[0];
+			}
+			BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.US_ASCII));
+			String line;
+			while ((line = reader.readLine()) != null && count < magics.length) {
+				line = line.trim();
+				if (!line.isEmpty() && !line.startsWith("#")) {
+					magics[count++] = Long.parseUnsignedLong(line, 16);
+				}
+			}
+		} catch (IOException | NumberFormatException e) {
+			LOG.log(Level.WARNING, "magic numbers could not be loaded: {0}", e.getMessage());
+			return new long[0];
+		}
+		return count == magics.length ? magics : new long[0];
+	}
+
+	// prints a fresh set of magics in the format of the resource file
+	public static void main(String[] args) {
+		StringBuilder sb = new StringBuilder("# rook magics a8-h1, then bishop magics a8-h1\n");
+		for (int i = 0; i < 128; i++) {
+			boolean rook = i < 64;
+			int square = i & 63;
+			long[][] rays = rook ? Attacks.ROOK_RAYS : Attacks.BISHOP_RAYS;
+			long magic = findMagic(rays, square, Attacks.mask(rays, square), new Random(SEED + i));
+			sb.append(String.format("%016x%n", magic));
+		}
+		System.out.print(sb);
+	}
+
+}
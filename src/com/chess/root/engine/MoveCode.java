@@ -0,0 +1,75 @@
+package com.chess.root.engine;
+
+public class MoveCode {
+
+	// bits 0-5: start square, bits 6-11: target square, bits 12-15: flag, bits 16-18: piece, bits 19-21: captured piece (captures only)
+	public static final int QUIET = 0;
+	public static final int DOUBLE_PUSH = 1;
+	public static final int KING_CASTLE = 2;
+	public static final int QUEEN_CASTLE = 3;
+	public static final int CAPTURE = 4;
+	public static final int EN_PASSANT = 5;
+	public static final int KNIGHT_PROMOTION = 8;
+	public static final int BISHOP_PROMOTION = 9;
+	public static final int ROOK_PROMOTION = 10;
+	public static final int QUEEN_PROMOTION = 11;
+	public static final int KNIGHT_PROMOTION_CAPTURE = 12;
+	public static final int BISHOP_PROMOTION_CAPTURE = 13;
+	public static final int ROOK_PROMOTION_CAPTURE = 14;
+	public static final int QUEEN_PROMOTION_CAPTURE = 15;
+
+	private MoveCode() {
+	}
+
+	public static int encode(int from, int to, int flag, int piece, int captured) {
+		return from | (to << 6) | (flag << 12) | (piece << 16) | (captured << 19);
+	}
+
+	// ---------------------------------- GENERIC GETTERS ----------------------------------
+
+	public static int from(int move) {
+		return move & 0x3f;
+	}
+
+	public static int to(int move) {
+		return (move >>> 6) & 0x3f;
+	}
+
+	public static int flag(int move) {
+		return (move >>> 12) & 0xf;
+	}
+
+	public static int piece(int move) {
+		return (move >>> 16) & 7;
+	}
+
+	public static int captured(int move) {
+		return (move >>> 19) & 7;
+	}
+
+	public static boolean isCapture(int move) {
+		return (flag(move) & CAPTURE) != 0;
+	}
+
+	public static boolean isPromotion(int move) {
+		return (flag(move) & 8) != 0;
+	}
+
+	public static boolean isCastling(int move) {
+		int flag = flag(move);
+		return flag == KING_CASTLE || flag == QUEEN_CASTLE;
+	}
+
+	public static int promotion(int move) {
+		return Position.KNIGHT + (flag(move) & 3);
+	}
+
+	public static String toString(int move) {
+		String s = Position.squareName(from(move)) + Position.squareName(to(move));
+		if (isPromotion(move)) {
+			s += "nbrq".charAt(promotion(move) - Position.KNIGHT);
+		}
+		return s;
+	}
+
+}
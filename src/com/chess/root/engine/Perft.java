@@ -0,0 +1,91 @@
+package com.chess.root.engine;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class Perft {
+
+	public static final String START = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+	private final Position position;
+	private final int[][] moves = new int[Position.MAX_PLY][Position.MAX_MOVES];
+
+	public Perft(Position position) {
+		this.position = position;
+	}
+
+	// ---------------------------------- COUNTING ----------------------------------
+
+	// the number of legal move sequences of the given length, the last ply is only counted, not executed
+	public long count(int depth) {
+		return count(depth, 0);
+	}
+
+	// the count below each legal root move, in generation order
+	public Map<String, Long> divide(int depth) {
+		Map<String, Long> counts = new LinkedHashMap<>();
+		int[] list = moves[0];
+		int total = position.generateMoves(list);
+		long pinned = position.getPinned();
+		boolean inCheck = position.isInCheck();
+		for (int i = 0; i < total; i++) {
+			int move = list[i];
+			if (position.make(move, pinned, inCheck)) {
+				counts.put(MoveCode.toString(move), depth > 1 ? count(depth - 1, 1) : 1L);
+				position.unmake(move);
+			}
+		}
+		return counts;
+	}
+
+	private long count(int depth, int ply) {
+		if (depth == 0) {
+			return 1;
+		}
+		int[] list = moves[ply];
+		int total = position.generateMoves(list);
+		long pinned = position.getPinned();
+		boolean inCheck = position.isInCheck();
+		long nodes = 0;
+		for (int i = 0; i < total; i++) {
+			int move = list[i];
+			if (depth == 1) {
+				if (position.isLegal(move, pinned, inCheck)) {
+					nodes++;
+				}
+			} else if (position.make(move, pinned, inCheck)) {
+				nodes += count(depth - 1, ply + 1);
+				position.unmake(move);
+			}
+		}
+		return nodes;
+	}
+
+	// ---------------------------------- HELPER METHODS ----------------------------------
+
+	// prints the count below every root move of the position, the known counts are checked by PerftTest
+	public static void main(String[] args) {
+		if (args.length == 0) {
+			System.out.println("usage: Perft <depth> [FEN]");
+			return;
+		}
+		int depth = Integer.parseInt(args[0]);
+		Position position = new Position();
+		position.setFen(args.length > 1 ? String.join(" ", Arrays.copyOfRange(args, 1, args.length)) : START);
+		long start = System.nanoTime();
+		long nodes = 0;
+		for (Map.Entry<String, Long> entry : new Perft(position).divide(depth).entrySet()) {
+			System.out.println(entry.getKey() + ": " + entry.getValue());
+			nodes += entry.getValue();
+		}
+		long nanos = System.nanoTime() - start;
+		System.out.println();
+		System.out.println("nodes " + nodes + ", " + nanos / 1000000 + " ms, " + perSecond(nodes, nanos) + " nodes/s");
+	}
+
+	private static long perSecond(long nodes, long nanos) {
+		return nanos == 0 ? 0 : nodes * 1000000000L / nanos;
+	}
+
+}
@@ -0,0 +1,622 @@
+package com.chess.root.engine;
+
+public class Position {
+
+	public static final int WHITE = 0;
+	public static final int BLACK = 1;
+
+	public static final int PAWN = 0;
+	public static final int KNIGHT = 1;
+	public static final int BISHOP = 2;
+	public static final int ROOK = 3;
+	public static final int QUEEN = 4;
+	public static final int KING = 5;
+	public static final int EMPTY = -1;
+
+	public static final int WHITE_KING_SIDE = 1;
+	public static final int WHITE_QUEEN_SIDE = 2;
+	public static final int BLACK_KING_SIDE = 4;
+	public static final int BLACK_QUEEN_SIDE = 8;
+
+	public static final int MAX_MOVES = 256;
+	public static final int MAX_PLY = 128;
+
+	private static final String FEN = "PNBRQKpnbrqk";
+	private static final int[] CASTLING_MASK = new int[64];
+
+	static {
+		for (int square = 0; square < 64; square++) {
+			CASTLING_MASK[square] = 15;
+		}
+		CASTLING_MASK[square(4, 7)] &= ~(WHITE_KING_SIDE | WHITE_QUEEN_SIDE);
+		CASTLING_MASK[square(7, 7)] &= ~WHITE_KING_SIDE;
+		CASTLING_MASK[square(0, 7)] &= ~WHITE_QUEEN_SIDE;
+		CASTLING_MASK[square(4, 0)] &= ~(BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+		CASTLING_MASK[square(7, 0)] &= ~BLACK_KING_SIDE;
+		CASTLING_MASK[square(0, 0)] &= ~BLACK_QUEEN_SIDE;
+	}
+
+	private final long[][] pieces = new long[2][6];
+	private final long[] occupancy = new long[2];
+	private final int[] mailbox = new int[64];
+	private int side = WHITE;
+	private int castling;
+	private int enPassantSquare = EMPTY;
+	private int halfMoves;
+	private boolean passingEnabled = true;
+	private long key;
+	// middle and end game values of both sides and the game phase, kept up to date while an evaluation is attached
+	private Evaluation evaluation;
+	private final int[] score = new int[2];
+	private final int[] endScore = new int[2];
+	private int phase;
+
+	// state which cannot be restored from the move code itself, one entry per executed move
+	private int ply;
+	private final int[] capturedStack = new int[MAX_PLY];
+	private final int[] castlingStack = new int[MAX_PLY];
+	private final int[] enPassantStack = new int[MAX_PLY];
+	private final int[] halfMoveStack = new int[MAX_PLY];
+	private final long[] keyStack = new long[MAX_PLY];
+
+	public Position() {
+		clear();
+	}
+
+	public Position(Position other) {
+		set(other);
+	}
+
+	// ---------------------------------- SETUP ----------------------------------
+
+	public void clear() {
+		for (int color = WHITE; color <= BLACK; color++) {
+			for (int type = PAWN; type <= KING; type++) {
+				pieces[color][type] = 0L;
+			}
+			occupancy[color] = 0L;
+		}
+		for (int square = 0; square < 64; square++) {
+			mailbox[square] = EMPTY;
+		}
+		side = WHITE;
+		castling = 0;
+		enPassantSquare = EMPTY;
+		halfMoves = 0;
+		ply = 0;
+		key = 0L;
+		score[WHITE] = 0;
+		score[BLACK] = 0;
+		endScore[WHITE] = 0;
+		endScore[BLACK] = 0;
+		phase = 0;
+	}
+
+	// takes over the placement and state of another position, without its move history
+	public void set(Position other) {
+		for (int color = WHITE; color <= BLACK; color++) {
+			System.arraycopy(other.pieces[color], 0, pieces[color], 0, 6);
+			occupancy[color] = other.occupancy[color];
+		}
+		System.arraycopy(other.mailbox, 0, mailbox, 0, 64);
+		side = other.side;
+		castling = other.castling;
+		enPassantSquare = other.enPassantSquare;
+		halfMoves = other.halfMoves;
+		passingEnabled = other.passingEnabled;
+		key = other.key;
+		evaluation = other.evaluation;
+		score[WHITE] = other.score[WHITE];
+		score[BLACK] = other.score[BLACK];
+		endScore[WHITE] = other.endScore[WHITE];
+		endScore[BLACK] = other.endScore[BLACK];
+		phase = other.phase;
+		ply = 0;
+	}
+
+	public void setEvaluation(Evaluation evaluation) {
+		this.evaluation = evaluation;
+		for (int color = WHITE; color <= BLACK; color++) {
+			score[color] = evaluation == null ? 0 : evaluation.material(this, color, false);
+			endScore[color] = evaluation == null ? 0 : evaluation.material(this, color, true);
+		}
+		phase = evaluation == null ? 0 : evaluation.phase(this);
+	}
+
+	public void put(int square, int color, int type) {
+		long bit = 1L << square;
+		pieces[color][type] |= bit;
+		occupancy[color] |= bit;
+		mailbox[square] = color * 6 + type;
+		key ^= Zobrist.piece(color, type, square);
+		if (evaluation != null) {
+			score[color] += evaluation.weight(color, type, square, false);
+			endScore[color] += evaluation.weight(color, type, square, true);
+			phase += Evaluation.phase(type);
+		}
+	}
+
+	public void remove(int square) {
+		int piece = mailbox[square];
+		if (piece != EMPTY) {
+			long bit = 1L << square;
+			pieces[piece / 6][piece % 6] &= ~bit;
+			occupancy[piece / 6] &= ~bit;
+			mailbox[square] = EMPTY;
+			key ^= Zobrist.piece(piece / 6, piece % 6, square);
+			if (evaluation != null) {
+				score[piece / 6] -= evaluation.weight(piece / 6, piece % 6, square, false);
+				endScore[piece / 6] -= evaluation.weight(piece / 6, piece % 6, square, true);
+				phase -= Evaluation.phase(piece % 6);
+			}
+		}
+	}
+
+	public void setSide(int side) {
+		if (this.side != side) {
+			key ^= Zobrist.side();
+		}
+		this.side = side;
+	}
+
+	public void setCastling(int castling) {
+		key ^= Zobrist.castling(this.castling) ^ Zobrist.castling(castling);
+		this.castling = castling;
+	}
+
+	public void setEnPassantSquare(int square) {
+		key ^= Zobrist.enPassant(enPassantSquare) ^ Zobrist.enPassant(square);
+		enPassantSquare = square;
+	}
+
+	public void setHalfMoves(int halfMoves) {
+		this.halfMoves = halfMoves;
+	}
+
+	public void setPassingEnabled(boolean enabled) {
+		passingEnabled = enabled;
+	}
+
+	// sets up the position of a FEN string, fields after the placement may be left out
+	public void setFen(String fen) {
+		String[] fields = fen.trim().split("\\s+");
+		clear();
+		int square = 0;
+		for (char c : fields[0].toCharArray()) {
+			if (Character.isDigit(c)) {
+				square += c - '0';
+			} else if (c != '/') {
+				int piece = FEN.indexOf(c);
+				if (piece < 0 || square > 63) {
+					throw new IllegalArgumentException("invalid FEN placement: " + fields[0]);
+				}
+				put(square++, piece / 6, piece % 6);
+			}
+		}
+		setSide(fields.length > 1 && fields[1].equals("b") ? BLACK : WHITE);
+		int rights = 0;
+		String castlingField = fields.length > 2 ? fields[2] : "-";
+		String letters = "KQkq";
+		for (int i = 0; i < letters.length(); i++) {
+			if (castlingField.indexOf(letters.charAt(i)) >= 0) {
+				rights |= 1 << i;
+			}
+		}
+		setCastling(rights);
+		if (fields.length > 3 && !fields[3].equals("-")) {
+			// the square behind a pawn which just moved two steps, so on the sixth rank if white moves and on the third if black does
+			String target = fields[3];
+			char rank = side == WHITE ? '6' : '3';
+			if (target.length() != 2 || target.charAt(0) < 'a' || target.charAt(0) > 'h' || target.charAt(1) != rank) {
+				throw new IllegalArgumentException("invalid FEN en passant square: " + target);
+			}
+			setEnPassantSquare(square(target.charAt(0) - 'a', '8' - target.charAt(1)));
+		}
+		if (fields.length > 4) {
+			setHalfMoves(Integer.parseInt(fields[4]));
+		}
+	}
+
+	// ---------------------------------- MOVE EXECUTION ----------------------------------
+
+	// executes a pseudo-legal move - if it leaves the own king in check, it is taken back immediately and false is returned
+	public boolean make(int move) {
+		execute(move);
+		if (isAttacked(kingSquare(side ^ 1), side)) {
+			unmake(move);
+			return false;
+		}
+		return true;
+	}
+
+	// same as make, but with the pins and check state of the position known the move is only executed if it is legal
+	public boolean make(int move, long pinned, boolean inCheck) {
+		if (inCheck || MoveCode.flag(move) == MoveCode.EN_PASSANT) {
+			return make(move);
+		}
+		if (!isLegal(move, pinned, false)) {
+			return false;
+		}
+		execute(move);
+		return true;
+	}
+
+	private void execute(int move) {
+		int from = MoveCode.from(move);
+		int to = MoveCode.to(move);
+		int flag = MoveCode.flag(move);
+		int us = side;
+		int type = MoveCode.piece(move);
+
+		capturedStack[ply] = EMPTY;
+		castlingStack[ply] = castling;
+		enPassantStack[ply] = enPassantSquare;
+		halfMoveStack[ply] = halfMoves;
+		keyStack[ply] = key;
+		ply++;
+
+		key ^= Zobrist.enPassant(enPassantSquare);
+		enPassantSquare = EMPTY;
+		halfMoves++;
+
+		if (flag == MoveCode.EN_PASSANT) {
+			int victim = us == WHITE ? to + 8 : to - 8;
+			capturedStack[ply - 1] = PAWN;
+			remove(victim);
+		} else if (MoveCode.isCapture(move)) {
+			capturedStack[ply - 1] = MoveCode.captured(move);
+			remove(to);
+		}
+
+		remove(from);
+		put(to, us, MoveCode.isPromotion(move) ? MoveCode.promotion(move) : type);
+
+		if (flag == MoveCode.KING_CASTLE) {
+			remove(to + 1);
+			put(to - 1, us, ROOK);
+		} else if (flag == MoveCode.QUEEN_CASTLE) {
+			remove(to - 2);
+			put(to + 1, us, ROOK);
+		} else if (flag == MoveCode.DOUBLE_PUSH && passingEnabled) {
+			enPassantSquare = (from + to) / 2;
+			key ^= Zobrist.enPassant(enPassantSquare);
+		}
+
+		if (type == PAWN || capturedStack[ply - 1] != EMPTY) {
+			halfMoves = 0;
+		}
+		key ^= Zobrist.castling(castling);
+		castling &= CASTLING_MASK[from] & CASTLING_MASK[to];
+		key ^= Zobrist.castling(castling) ^ Zobrist.side();
+		side = us ^ 1;
+	}
+
+	public void unmake(int move) {
+		int from = MoveCode.from(move);
+		int to = MoveCode.to(move);
+		int flag = MoveCode.flag(move);
+		side ^= 1;
+		int us = side;
+		ply--;
+
+		int type = MoveCode.piece(move);
+		remove(to);
+		put(from, us, type);
+
+		if (flag == MoveCode.KING_CASTLE) {
+			remove(to - 1);
+			put(to + 1, us, ROOK);
+		} else if (flag == MoveCode.QUEEN_CASTLE) {
+			remove(to + 1);
+			put(to - 2, us, ROOK);
+		}
+
+		int captured = capturedStack[ply];
+		if (flag == MoveCode.EN_PASSANT) {
+			put(us == WHITE ? to + 8 : to - 8, us ^ 1, PAWN);
+		} else if (captured != EMPTY) {
+			put(to, us ^ 1, captured);
+		}
+
+		castling = castlingStack[ply];
+		enPassantSquare = enPassantStack[ply];
+		halfMoves = halfMoveStack[ply];
+		key = keyStack[ply];
+	}
+
+	// hands the move to the opponent without moving, so the search can test whether a position holds even without a tempo
+	public void makeNullMove() {
+		capturedStack[ply] = EMPTY;
+		castlingStack[ply] = castling;
+		enPassantStack[ply] = enPassantSquare;
+		halfMoveStack[ply] = halfMoves;
+		keyStack[ply] = key;
+		ply++;
+		key ^= Zobrist.enPassant(enPassantSquare) ^ Zobrist.side();
+		enPassantSquare = EMPTY;
+		halfMoves++;
+		side ^= 1;
+	}
+
+	public void unmakeNullMove() {
+		side ^= 1;
+		ply--;
+		enPassantSquare = enPassantStack[ply];
+		halfMoves = halfMoveStack[ply];
+		key = keyStack[ply];
+	}
+
+	public boolean isLegal(int move) {
+		return isLegal(move, getPinned(), isInCheck());
+	}
+
+	// most moves are validated by the pins alone - check evasions and en passant, which may uncover a rank, are tried out
+	public boolean isLegal(int move, long pinned, boolean inCheck) {
+		int from = MoveCode.from(move);
+		if (inCheck || MoveCode.flag(move) == MoveCode.EN_PASSANT) {
+			if (make(move)) {
+				unmake(move);
+				return true;
+			}
+			return false;
+		}
+		if (MoveCode.piece(move) == KING) {
+			// castling squares are already checked during generation, the king must not hide behind itself from a slider
+			return MoveCode.isCastling(move) || !isAttacked(MoveCode.to(move), side ^ 1, (occupancy[WHITE] | occupancy[BLACK]) & ~(1L << from));
+		}
+		return (pinned & (1L << from)) == 0 || (Attacks.line(kingSquare(side), from) & (1L << MoveCode.to(move))) != 0;
+	}
+
+	// ---------------------------------- MOVE GENERATION ----------------------------------
+
+	// writes all pseudo-legal moves of the side to move into the given buffer and returns their count
+	public int generateMoves(int[] moves) {
+		return generateMoves(moves, true);
+	}
+
+	// same as generateMoves, but only captures and promotions
+	public int generateCaptures(int[] moves) {
+		return generateMoves(moves, false);
+	}
+
+	private int generateMoves(int[] moves, boolean quiets) {
+		int count = 0;
+		int us = side;
+		int them = us ^ 1;
+		long own = occupancy[us];
+		long other = occupancy[them];
+		long all = own | other;
+		long targets = quiets ? ~own : other;
+
+		count = generatePawnMoves(moves, count, us, all, other, quiets);
+
+		long bits = pieces[us][KNIGHT];
+		while (bits != 0) {
+			int from = Long.numberOfTrailingZeros(bits);
+			count = addMoves(moves, count, from, KNIGHT, Attacks.knight(from) & targets, other);
+			bits &= bits - 1;
+		}
+		bits = pieces[us][BISHOP];
+		while (bits != 0) {
+			int from = Long.numberOfTrailingZeros(bits);
+			count = addMoves(moves, count, from, BISHOP, Attacks.bishop(from, all) & targets, other);
+			bits &= bits - 1;
+		}
+		bits = pieces[us][ROOK];
+		while (bits != 0) {
+			int from = Long.numberOfTrailingZeros(bits);
+			count = addMoves(moves, count, from, ROOK, Attacks.rook(from, all) & targets, other);
+			bits &= bits - 1;
+		}
+		bits = pieces[us][QUEEN];
+		while (bits != 0) {
+			int from = Long.numberOfTrailingZeros(bits);
+			count = addMoves(moves, count, from, QUEEN, Attacks.queen(from, all) & targets, other);
+			bits &= bits - 1;
+		}
+		bits = pieces[us][KING];
+		if (bits != 0) {
+			int from = Long.numberOfTrailingZeros(bits);
+			count = addMoves(moves, count, from, KING, Attacks.king(from) & targets, other);
+			if (quiets) {
+				count = generateCastlingMoves(moves, count, us, from, all);
+			}
+		}
+		return count;
+	}
+
+	private int generatePawnMoves(int[] moves, int count, int us, long all, long other, boolean quiets) {
+		int forward = us == WHITE ? -8 : 8;
+		int startRow = us == WHITE ? 6 : 1;
+		int lastRow = us == WHITE ? 0 : 7;
+		long bits = pieces[us][PAWN];
+		while (bits != 0) {
+			int from = Long.numberOfTrailingZeros(bits);
+			int to = from + forward;
+			if ((all & (1L << to)) == 0) {
+				if (to >>> 3 == lastRow) {
+					count = addPromotions(moves, count, from, to, false);
+				} else if (quiets) {
+					moves[count++] = MoveCode.encode(from, to, MoveCode.QUIET, PAWN, 0);
+					if (from >>> 3 == startRow && (all & (1L << (to + forward))) == 0) {
+						moves[count++] = MoveCode.encode(from, to + forward, MoveCode.DOUBLE_PUSH, PAWN, 0);
+					}
+				}
+			}
+			long targets = Attacks.pawn(us, from) & other;
+			while (targets != 0) {
+				to = Long.numberOfTrailingZeros(targets);
+				if (to >>> 3 == lastRow) {
+					count = addPromotions(moves, count, from, to, true);
+				} else {
+					moves[count++] = MoveCode.encode(from, to, MoveCode.CAPTURE, PAWN, mailbox[to] % 6);
+				}
+				targets &= targets - 1;
+			}
+			bits &= bits - 1;
+		}
+		if (enPassantSquare != EMPTY) {
+			long attackers = Attacks.pawn(us ^ 1, enPassantSquare) & pieces[us][PAWN];
+			while (attackers != 0) {
+				moves[count++] = MoveCode.encode(Long.numberOfTrailingZeros(attackers), enPassantSquare, MoveCode.EN_PASSANT, PAWN, PAWN);
+				attackers &= attackers - 1;
+			}
+		}
+		return count;
+	}
+
+	private int generateCastlingMoves(int[] moves, int count, int us, int king, long all) {
+		int them = us ^ 1;
+		int kingSide = us == WHITE ? WHITE_KING_SIDE : BLACK_KING_SIDE;
+		int queenSide = us == WHITE ? WHITE_QUEEN_SIDE : BLACK_QUEEN_SIDE;
+		if ((castling & (kingSide | queenSide)) == 0 || king != square(4, us == WHITE ? 7 : 0) || isAttacked(king, them)) {
+			return count;
+		}
+		if ((castling & kingSide) != 0 && mailbox[king + 3] == us * 6 + ROOK && (all & (3L << (king + 1))) == 0
+				&& !isAttacked(king + 1, them) && !isAttacked(king + 2, them)) {
+			moves[count++] = MoveCode.encode(king, king + 2, MoveCode.KING_CASTLE, KING, 0);
+		}
+		if ((castling & queenSide) != 0 && mailbox[king - 4] == us * 6 + ROOK && (all & (7L << (king - 3))) == 0
+				&& !isAttacked(king - 1, them) && !isAttacked(king - 2, them)) {
+			moves[count++] = MoveCode.encode(king, king - 2, MoveCode.QUEEN_CASTLE, KING, 0);
+		}
+		return count;
+	}
+
+	private int addMoves(int[] moves, int count, int from, int type, long targets, long other) {
+		while (targets != 0) {
+			int to = Long.numberOfTrailingZeros(targets);
+			if ((other & (1L << to)) != 0) {
+				moves[count++] = MoveCode.encode(from, to, MoveCode.CAPTURE, type, mailbox[to] % 6);
+			} else {
+				moves[count++] = MoveCode.encode(from, to, MoveCode.QUIET, type, 0);
+			}
+			targets &= targets - 1;
+		}
+		return count;
+	}
+
+	private int addPromotions(int[] moves, int count, int from, int to, boolean capture) {
+		int base = capture ? MoveCode.KNIGHT_PROMOTION_CAPTURE : MoveCode.KNIGHT_PROMOTION;
+		int captured = capture ? mailbox[to] % 6 : 0;
+		for (int i = 3; i >= 0; i--) {
+			moves[count++] = MoveCode.encode(from, to, base + i, PAWN, captured);
+		}
+		return count;
+	}
+
+	// ---------------------------------- ATTACK DETECTION ----------------------------------
+
+	public boolean isAttacked(int square, int byColor) {
+		return isAttacked(square, byColor, occupancy[WHITE] | occupancy[BLACK]);
+	}
+
+	private boolean isAttacked(int square, int byColor, long all) {
+		if (square < 0 || square > 63) {
+			return false;
+		}
+		long[] attacker = pieces[byColor];
+		return (Attacks.pawn(byColor ^ 1, square) & attacker[PAWN]) != 0
+				|| (Attacks.knight(square) & attacker[KNIGHT]) != 0
+				|| (Attacks.king(square) & attacker[KING]) != 0
+				|| (Attacks.bishop(square, all) & (attacker[BISHOP] | attacker[QUEEN])) != 0
+				|| (Attacks.rook(square, all) & (attacker[ROOK] | attacker[QUEEN])) != 0;
+	}
+
+	public boolean isInCheck() {
+		return isAttacked(kingSquare(side), side ^ 1);
+	}
+
+	// own pieces which shield the king of the side to move from a slider, they may only move along that line
+	public long getPinned() {
+		int us = side;
+		int them = us ^ 1;
+		int king = kingSquare(us);
+		if (king == EMPTY) {
+			return 0L;
+		}
+		long all = occupancy[WHITE] | occupancy[BLACK];
+		long snipers = (Attacks.rook(king, occupancy[them]) & (pieces[them][ROOK] | pieces[them][QUEEN]))
+				| (Attacks.bishop(king, occupancy[them]) & (pieces[them][BISHOP] | pieces[them][QUEEN]));
+		long pinned = 0L;
+		while (snipers != 0) {
+			long blockers = Attacks.between(king, Long.numberOfTrailingZeros(snipers)) & all;
+			if (Long.bitCount(blockers) == 1) {
+				pinned |= blockers & occupancy[us];
+			}
+			snipers &= snipers - 1;
+		}
+		return pinned;
+	}
+
+	public int kingSquare(int color) {
+		long king = pieces[color][KING];
+		return king == 0 ? EMPTY : Long.numberOfTrailingZeros(king);
+	}
+
+	// ---------------------------------- GENERIC GETTERS ----------------------------------
+
+	public long getPieces(int color, int type) {
+		return pieces[color][type];
+	}
+
+	public long getOccupancy(int color) {
+		return occupancy[color];
+	}
+
+	public long getOccupancy() {
+		return occupancy[WHITE] | occupancy[BLACK];
+	}
+
+	public int getPiece(int square) {
+		return mailbox[square];
+	}
+
+	public Evaluation getEvaluation() {
+		return evaluation;
+	}
+
+	public int getScore(int color, boolean end) {
+		return end ? endScore[color] : score[color];
+	}
+
+	public int getPhase() {
+		return phase;
+	}
+
+	public long getKey() {
+		return key;
+	}
+
+	public int getSide() {
+		return side;
+	}
+
+	public int getCastling() {
+		return castling;
+	}
+
+	public int getEnPassantSquare() {
+		return enPassantSquare;
+	}
+
+	public int getHalfMoves() {
+		return halfMoves;
+	}
+
+	public String getFen(int square) {
+		int piece = mailbox[square];
+		return piece == EMPTY ? null : Character.toString(FEN.charAt(piece));
+	}
+
+	// ---------------------------------- HELPER METHODS ----------------------------------
+
+	public static int square(int column, int row) {
+		return row * 8 + column;
+	}
+
+	public static String squareName(int square) {
+		return "" + (char) ('a' + (square & 7)) + (8 - (square >>> 3));
+	}
+
+}
@@ -0,0 +1,608 @@
+package com.chess.root.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class Search {
+
+	public static final int INFINITY = 10000000;
+	public static final int MATE = 1000000;
+	public static final int MAX_DEPTH = 64;
+	public static final long NO_DEADLINE = Long.MAX_VALUE;
+	// the clock is read once every this many nodes
+	private static final int CHECK_INTERVAL = 1024;
+
+	// order of the move groups, quiet moves are rated by their history below the killers
+	private static final int HASH_MOVE = 1 << 30;
+	private static final int GOOD_CAPTURE = 1 << 29;
+	private static final int KILLER = 1 << 28;
+	private static final int HISTORY_LIMIT = 1 << 20;
+	private static final int UNDER_PROMOTION = -(1 << 29);
+	// a side with this few pieces left is likely to be in zugzwang, so passing is no proof of a good position
+	private static final int MIN_PIECES = 4;
+	// all searches share the helper threads, the calling thread always takes part - so a new search per game leaves no idle threads behind
+	private static final ForkJoinPool POOL = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+
+	private final Position position;
+	private final Evaluation evaluation;
+	private final TranspositionTable table;
+	private final SearchStack stack = new SearchStack();
+	private long nodes;
+	private SearchContext context = SearchContext.unlimited();
+	// whether the limits of the context apply yet
+	private boolean limited;
+	private boolean stopped;
+	private int completedDepth;
+	private int[] line = new int[0];
+	private volatile int rootBest;
+	private int[] rootLine = new int[0];
+	private int firstMove;
+	private final Search[] workers;
+	private final int[][] mvvLva;
+	private final int[][][] history = new int[2][6][64];
+	private boolean nullMove;
+	private boolean reductions;
+	private Tablebase tablebase;
+
+	public Search(Position position, Evaluation evaluation, TranspositionTable table) {
+		this(position, evaluation, table, 1);
+	}
+
+	// every further thread searches its own copy of the position, only the evaluation and the table are shared
+	public Search(Position position, Evaluation evaluation, TranspositionTable table, int threads) {
+		this.position = position;
+		this.evaluation = evaluation;
+		this.table = table;
+		this.mvvLva = createMvvLva(evaluation);
+		workers = new Search[Math.max(1, threads)];
+		workers[0] = this;
+		for (int i = 1; i < workers.length; i++) {
+			workers[i] = new Search(new Position(), evaluation, table);
+		}
+	}
+
+	// ---------------------------------- MOVE RATING ----------------------------------
+
+	// rates the root moves stored at ply 0 of the stack by searching the given number of replies, scores go to the same ply
+	public void rateMoves(int depth) {
+		rateMoves(0, depth, SearchContext.unlimited());
+	}
+
+	// deepens the search one ply at a time until the depth or the deadline is reached, the scores of the last completed iteration are kept
+	public void rateMoves(int maxDepth, long deadline) {
+		rateMoves(0, maxDepth, new SearchContext(SearchContext.NO_LIMIT, deadline));
+	}
+
+	// same as above, but the iterations up to the minimum depth always complete
+	public void rateMoves(int minDepth, int maxDepth, long deadline) {
+		rateMoves(minDepth, maxDepth, new SearchContext(SearchContext.NO_LIMIT, deadline));
+	}
+
+	// the node limit and the deadline of the context only apply once the minimum depth is done, a stop ends the search at any time
+	// and leaves the scores of the last completed iteration, which are not there if the context is stopped during the first one
+	public void rateMoves(int minDepth, int maxDepth, SearchContext context) {
+		int[] moves = stack.getMoves(0);
+		int[] scores = stack.getScores(0);
+		int count = stack.getCount(0);
+		int[] rated = new int[count];
+		Integer[] order = new Integer[count];
+		for (int i = 0; i < count; i++) {
+			order[i] = i;
+		}
+		long start = System.currentTimeMillis();
+		// what the last searches learned stays, the table only ages and the history fades
+		table.nextGeneration();
+		long rootKey = position.getKey();
+		long entry = table.probe(rootKey);
+		if (entry != 0) {
+			// the move expected on the last search goes first, so the first iteration already has a good bound
+			int hashMove = TranspositionTable.move(entry);
+			for (int i = 1; i < count; i++) {
+				if (moves[i] == hashMove) {
+					order[i] = order[0];
+					order[0] = i;
+					break;
+				}
+			}
+		}
+		completedDepth = -1;
+		line = new int[0];
+		firstMove = count > 0 ? moves[order[0]] : 0;
+		for (Search worker : workers) {
+			if (worker != this) {
+				worker.position.set(position);
+			}
+			worker.context = context;
+			worker.limited = false;
+			worker.stopped = false;
+			worker.stack.clearKillers();
+			worker.ageHistory();
+		}
+		for (int depth = 0; depth <= maxDepth; depth++) {
+			int guess = depth > 0 ? scores[order[0]] : 0;
+			rateIteration(moves, rated, order, depth, guess);
+			if (isStopped()) {
+				break;
+			}
+			System.arraycopy(rated, 0, scores, 0, count);
+			line = rootLine;
+			completedDepth = depth;
+			table.store(rootKey, depth + 1, TranspositionTable.EXACT, toTable(rootBest, 0), line.length > 0 ? line[0] : 0);
+			if (hasMate(scores, count)) {
+				break;
+			}
+			// the best move of this iteration is searched first in the next one, with the others following by their bounds
+			Arrays.sort(order, (a, b) -> Integer.compare(scores[b], scores[a]));
+			if (depth < minDepth) {
+				continue;
+			}
+			for (Search worker : workers) {
+				worker.limited = true;
+			}
+			// the next iteration takes several times as long as this one, starting it past half of the budget is wasted
+			long deadline = context.getDeadline();
+			long now = System.currentTimeMillis();
+			if (deadline != NO_DEADLINE && now - start > (deadline - start) / 2) {
+				break;
+			}
+			if (context.getNodeLimit() != SearchContext.NO_LIMIT && context.getNodes() > context.getNodeLimit() / 2) {
+				break;
+			}
+		}
+		for (Search worker : workers) {
+			worker.context = SearchContext.unlimited();
+		}
+	}
+
+	// the first move gets a window around the score of the last iteration and sets the bound every other root move has to beat
+	private void rateIteration(int[] moves, int[] rated, Integer[] order, int depth, int guess) {
+		rootBest = -INFINITY;
+		rootLine = new int[0];
+		int first = order[0];
+		int window = Math.max(1, Math.abs(evaluation.value(Position.PAWN)) / 2);
+		int alpha = -INFINITY;
+		int beta = INFINITY;
+		if (depth > 0 && Math.abs(guess) < MATE - Position.MAX_PLY) {
+			alpha = guess - window;
+			beta = guess + window;
+		}
+		int rating = rateMove(moves[first], depth, alpha, beta);
+		if (!stopped && (rating <= alpha || rating >= beta)) {
+			// the score left the window, so the move is searched again without one
+			rating = rateMove(moves[first], depth, -INFINITY, INFINITY);
+		}
+		rated[first] = rating;
+		if (stopped) {
+			return;
+		}
+		updateRoot(this, moves[first], rating);
+
+		// the remaining moves are handed out one at a time to the workers, so they all finish at about the same time
+		AtomicInteger next = new AtomicInteger(1);
+		List<ForkJoinTask<?>> tasks = new ArrayList<>();
+		for (int i = 1; i < workers.length; i++) {
+			Search worker = workers[i];
+			tasks.add(POOL.submit(() -> worker.rateShare(this, moves, rated, order, depth, next)));
+		}
+		rateShare(this, moves, rated, order, depth, next);
+		for (ForkJoinTask<?> task : tasks) {
+			task.join();
+		}
+	}
+
+	// every move is first proven to be worse than the best so far with a narrow window, only the ones which are not get a real score
+	private void rateShare(Search root, int[] moves, int[] rated, Integer[] order, int depth, AtomicInteger next) {
+		int i;
+		while (!stopped && (i = next.getAndIncrement()) < order.length) {
+			int move = moves[order[i]];
+			int alpha = root.rootBest;
+			// the window holds the best score itself, so a move just as good keeps it and the caller may choose between them
+			int rating = rateMove(move, depth, alpha - 1, alpha + 1);
+			if (rating > alpha && !stopped) {
+				rating = rateMove(move, depth, alpha, INFINITY);
+			}
+			if (stopped) {
+				break;
+			}
+			if (rating > alpha) {
+				root.updateRoot(this, move, rating);
+			} else if (rating < alpha) {
+				// only an upper bound, it must never tie with the best move
+				rating = Math.min(rating, alpha - 1);
+			}
+			rated[order[i]] = rating;
+		}
+	}
+
+	// scores below the best one may only be bounds, this searches a root move again with an open window at the depth of the last completed iteration
+	public int rateExactly(int move, SearchContext context) {
+		this.context = context;
+		limited = false;
+		stopped = false;
+		int rating = rateMove(move, Math.max(0, completedDepth), -INFINITY, INFINITY);
+		this.context = SearchContext.unlimited();
+		return rating;
+	}
+
+	private synchronized void updateRoot(Search worker, int move, int rating) {
+		if (rating > rootBest) {
+			rootBest = rating;
+			int length = worker.stack.getLineLength(1);
+			rootLine = new int[length + 1];
+			rootLine[0] = move;
+			System.arraycopy(worker.stack.getLine(1), 0, rootLine, 1, length);
+		}
+	}
+
+	private int rateMove(int move, int depth, int alpha, int beta) {
+		int piece = position.getPiece(MoveCode.from(move));
+		if (piece == Position.EMPTY || piece / 6 != position.getSide() || !position.make(move)) {
+			return -INFINITY;
+		}
+		int rating = -alphaBeta(depth, -beta, -alpha, 1, true);
+		position.unmake(move);
+		return rating;
+	}
+
+	// the root position is copied, the search never works on the caller's instance
+	public void setPosition(Position root) {
+		position.set(root);
+	}
+
+	// both prune moves which are most likely bad, trading a little accuracy for depth
+	public void setPruning(boolean nullMove, boolean reductions) {
+		for (Search worker : workers) {
+			worker.nullMove = nullMove;
+			worker.reductions = reductions;
+		}
+	}
+
+	// positions with few pieces left are taken from the tablebase instead of being searched, null turns probing off
+	public void setTablebase(Tablebase tablebase) {
+		for (Search worker : workers) {
+			worker.tablebase = tablebase;
+		}
+	}
+
+	public SearchStack getStack() {
+		return stack;
+	}
+
+	public long getNodes() {
+		long sum = 0;
+		for (Search worker : workers) {
+			sum += worker.nodes;
+		}
+		return sum;
+	}
+
+	public int getCompletedDepth() {
+		return completedDepth;
+	}
+
+	// the best root move so far, also if the search was stopped in its first iteration - the first one in search order if none was rated yet
+	public synchronized int getCurrentMove() {
+		return rootLine.length > 0 ? rootLine[0] : firstMove;
+	}
+
+	// the expected line of the last completed iteration, starting with the best root move
+	public int[] getPrincipalVariation() {
+		return line.clone();
+	}
+
+	private int alphaBeta(int depth, int alpha, int beta, int ply, boolean nullAllowed) {
+		if (depth == 0) {
+			return quiesce(alpha, beta, ply);
+		}
+		stack.clearLine(ply);
+		if (countNode()) {
+			return 0;
+		}
+		if (tablebase != null && Long.bitCount(position.getOccupancy()) <= tablebase.getMaxPieces()) {
+			int score = tablebase.probe(position, ply);
+			if (score != Tablebase.NO_SCORE) {
+				return score;
+			}
+		}
+		boolean pvNode = beta - alpha > 1;
+
+		// positions reached through another move order are taken from the table if searched deep enough, except on the expected line which would lose its continuation
+		long key = position.getKey();
+		long entry = table.probe(key);
+		int hashMove = 0;
+		if (entry != 0) {
+			hashMove = TranspositionTable.move(entry);
+			if (!pvNode && TranspositionTable.depth(entry) >= depth) {
+				int score = fromTable(TranspositionTable.score(entry), ply);
+				int bound = TranspositionTable.bound(entry);
+				if (bound == TranspositionTable.EXACT || (bound == TranspositionTable.LOWER && score >= beta) || (bound == TranspositionTable.UPPER && score <= alpha)) {
+					return score;
+				}
+			}
+		}
+
+		// if passing still leaves the opponent below beta, a real move will most likely do so as well
+		boolean inCheck = position.isInCheck();
+		if (nullMove && nullAllowed && !pvNode && !inCheck && depth >= 2 && canPass() && evaluation.evaluate(position) >= beta) {
+			int reduction = depth > 6 ? 3 : 2;
+			position.makeNullMove();
+			int rating = -alphaBeta(Math.max(0, depth - 1 - reduction), -beta, -beta + 1, ply + 1, false);
+			position.unmakeNullMove();
+			if (stopped) {
+				return 0;
+			}
+			if (rating >= beta) {
+				// a mate found without moving is not proven
+				return rating > MATE - Position.MAX_PLY ? beta : rating;
+			}
+		}
+
+		int[] moves = stack.getMoves(ply);
+		int count = position.generateMoves(moves);
+		stack.setCount(ply, count);
+		int[] order = stack.getScores(ply);
+		rateOrder(moves, order, count, hashMove, ply);
+
+		int alphaStart = alpha;
+		int best = -INFINITY;
+		int bestMove = 0;
+		int searched = 0;
+		for (int i = 0; i < count; i++) {
+			pickMove(moves, order, i, count);
+			int move = moves[i];
+			if (!position.make(move)) {
+				continue;
+			}
+			int rating;
+			if (searched == 0) {
+				rating = -alphaBeta(depth - 1, -beta, -alpha, ply + 1, true);
+			} else {
+				// quiet moves ordered late are searched less deep first, a move which proves better gets its full depth back
+				int reduction = 0;
+				if (reductions && depth >= 3 && searched >= 3 && !inCheck && order[i] < KILLER && !MoveCode.isCapture(move) && !MoveCode.isPromotion(move) && !position.isInCheck()) {
+					reduction = searched >= 12 && depth >= 6 ? 2 : 1;
+				}
+				// later moves only have to be shown not to beat the first, the full window is only needed if one does
+				rating = -alphaBeta(depth - 1 - reduction, -alpha - 1, -alpha, ply + 1, true);
+				if (reduction > 0 && rating > alpha && !stopped) {
+					rating = -alphaBeta(depth - 1, -alpha - 1, -alpha, ply + 1, true);
+				}
+				if (rating > alpha && rating < beta && !stopped) {
+					rating = -alphaBeta(depth - 1, -beta, -alpha, ply + 1, true);
+				}
+			}
+			searched++;
+			position.unmake(move);
+			if (stopped) {
+				// the result of an interrupted iteration is thrown away
+				return 0;
+			}
+			if (rating > best) {
+				best = rating;
+				bestMove = move;
+				if (rating > alpha) {
+					alpha = rating;
+					stack.updateLine(ply, move);
+					if (alpha >= beta) {
+						if (!MoveCode.isCapture(move) && !MoveCode.isPromotion(move)) {
+							rememberQuiet(move, depth, ply);
+						}
+						break;
+					}
+				}
+			}
+		}
+		if (searched == 0) {
+			// checkmate or stalemate
+			return inCheck ? -MATE + ply : 0;
+		}
+
+		int bound = TranspositionTable.EXACT;
+		if (best >= beta) {
+			bound = TranspositionTable.LOWER;
+		} else if (best <= alphaStart) {
+			bound = TranspositionTable.UPPER;
+		}
+		table.store(key, depth, bound, toTable(best, ply), bestMove);
+		return best;
+	}
+
+	// only captures and promotions are followed beyond the horizon, so no position is rated in the middle of an exchange
+	private int quiesce(int alpha, int beta, int ply) {
+		stack.clearLine(ply);
+		if (countNode()) {
+			return 0;
+		}
+		int standPat = evaluation.evaluate(position);
+		if (standPat >= beta || ply >= Position.MAX_PLY - 1) {
+			return standPat;
+		}
+		if (standPat > alpha) {
+			alpha = standPat;
+		}
+
+		int[] moves = stack.getMoves(ply);
+		int count = position.generateCaptures(moves);
+		int[] order = stack.getScores(ply);
+		rateOrder(moves, order, count, 0, ply);
+		// a capture which cannot lift the score to alpha even with some positional gain on top is not searched
+		int margin = 2 * Math.abs(evaluation.value(Position.PAWN));
+		for (int i = 0; i < count; i++) {
+			pickMove(moves, order, i, count);
+			int move = moves[i];
+			if (order[i] == UNDER_PROMOTION) {
+				break;
+			}
+			if (!MoveCode.isPromotion(move) && standPat + evaluation.value(MoveCode.captured(move)) + margin <= alpha) {
+				continue;
+			}
+			if (!position.make(move)) {
+				continue;
+			}
+			int rating = -quiesce(-beta, -alpha, ply + 1);
+			position.unmake(move);
+			if (stopped) {
+				return 0;
+			}
+			if (rating > alpha) {
+				alpha = rating;
+				if (alpha >= beta) {
+					break;
+				}
+			}
+		}
+		return alpha;
+	}
+
+	// ---------------------------------- MOVE ORDERING ----------------------------------
+
+	// the hash move comes first, then captures by most valuable victim and least valuable attacker, then killers and the history of quiet moves
+	private void rateOrder(int[] moves, int[] order, int count, int hashMove, int ply) {
+		int[] killers = stack.getKillers(ply);
+		int[][] sideHistory = history[position.getSide()];
+		for (int i = 0; i < count; i++) {
+			int move = moves[i];
+			if (move == hashMove) {
+				order[i] = HASH_MOVE;
+			} else if (MoveCode.isPromotion(move)) {
+				int victim = MoveCode.isCapture(move) ? MoveCode.captured(move) : Position.PAWN;
+				order[i] = MoveCode.promotion(move) == Position.QUEEN ? GOOD_CAPTURE + mvvLva[victim][Position.PAWN] + mvvLva[Position.QUEEN][Position.PAWN] : UNDER_PROMOTION;
+			} else if (MoveCode.isCapture(move)) {
+				order[i] = GOOD_CAPTURE + mvvLva[MoveCode.captured(move)][MoveCode.piece(move)];
+			} else if (move == killers[0]) {
+				order[i] = KILLER + 1;
+			} else if (move == killers[1]) {
+				order[i] = KILLER;
+			} else {
+				order[i] = sideHistory[MoveCode.piece(move)][MoveCode.to(move)];
+			}
+		}
+	}
+
+	// moves the best rated of the remaining moves to the given index, so only the moves actually searched get sorted
+	private static void pickMove(int[] moves, int[] order, int index, int count) {
+		int best = index;
+		for (int i = index + 1; i < count; i++) {
+			if (order[i] > order[best]) {
+				best = i;
+			}
+		}
+		if (best != index) {
+			int move = moves[best];
+			moves[best] = moves[index];
+			moves[index] = move;
+			int rating = order[best];
+			order[best] = order[index];
+			order[index] = rating;
+		}
+	}
+
+	private void rememberQuiet(int move, int depth, int ply) {
+		stack.addKiller(ply, move);
+		int[] squares = history[position.getSide()][MoveCode.piece(move)];
+		squares[MoveCode.to(move)] += depth * depth;
+		if (squares[MoveCode.to(move)] > HISTORY_LIMIT) {
+			// keeps the history below the killers and lets newer cutoffs catch up
+			for (int[][] pieces : history) {
+				for (int[] targets : pieces) {
+					for (int square = 0; square < 64; square++) {
+						targets[square] /= 2;
+					}
+				}
+			}
+		}
+	}
+
+	// cutoffs of earlier searches still help the ordering, but newer ones should outweigh them quickly
+	private void ageHistory() {
+		for (int[][] pieces : history) {
+			for (int[] targets : pieces) {
+				for (int square = 0; square < 64; square++) {
+					targets[square] /= 8;
+				}
+			}
+		}
+	}
+
+	// victims are ranked by their value first, cheaper attackers come first among equal victims
+	private static int[][] createMvvLva(Evaluation evaluation) {
+		int[] rank = new int[6];
+		for (int type = Position.PAWN; type <= Position.KING; type++) {
+			for (int other = Position.PAWN; other <= Position.KING; other++) {
+				if (evaluation.value(other) < evaluation.value(type)) {
+					rank[type]++;
+				}
+			}
+		}
+		int[][] mvvLva = new int[6][6];
+		for (int victim = Position.PAWN; victim <= Position.KING; victim++) {
+			for (int attacker = Position.PAWN; attacker <= Position.KING; attacker++) {
+				mvvLva[victim][attacker] = rank[victim] * 8 + 7 - rank[attacker];
+			}
+		}
+		return mvvLva;
+	}
+
+	// ---------------------------------- HELPER METHODS ----------------------------------
+
+	// returns true once the search has run out of nodes or time or was stopped
+	private boolean countNode() {
+		nodes++;
+		if ((nodes % CHECK_INTERVAL) == 0 && context.report(CHECK_INTERVAL, limited)) {
+			stopped = true;
+		}
+		return stopped;
+	}
+
+	// the side to move needs a piece besides king and pawns, and the old end game limit of a few pieces per side must not be reached
+	private boolean canPass() {
+		int side = position.getSide();
+		long pawnsAndKing = position.getPieces(side, Position.PAWN) | position.getPieces(side, Position.KING);
+		return (position.getOccupancy(side) & ~pawnsAndKing) != 0 && Long.bitCount(position.getOccupancy(side)) > MIN_PIECES && Long.bitCount(position.getOccupancy(side ^ 1)) > MIN_PIECES;
+	}
+
+	private boolean isStopped() {
+		for (Search worker : workers) {
+			if (worker.stopped) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// a forced mate is not going to change by searching deeper
+	private static boolean hasMate(int[] scores, int count) {
+		for (int i = 0; i < count; i++) {
+			if (scores[i] > MATE - Position.MAX_PLY) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// mate scores are stored relative to the position, not to the root
+	private static int toTable(int score, int ply) {
+		if (score > MATE - Position.MAX_PLY) {
+			return score + ply;
+		}
+		if (score < -MATE + Position.MAX_PLY) {
+			return score - ply;
+		}
+		return score;
+	}
+
+	private static int fromTable(int score, int ply) {
+		if (score > MATE - Position.MAX_PLY) {
+			return score - ply;
+		}
+		if (score < -MATE + Position.MAX_PLY) {
+			return score + ply;
+		}
+		return score;
+	}
+
+}
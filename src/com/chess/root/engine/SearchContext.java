@@ -0,0 +1,55 @@
+package com.chess.root.engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SearchContext {
+
+	public static final long NO_LIMIT = Long.MAX_VALUE;
+
+	// node limit and deadline end the search once its minimum depth is reached, a stop ends it at once
+	private final long nodeLimit;
+	private final long deadline;
+	private final AtomicLong nodes = new AtomicLong();
+	private volatile boolean stopped;
+
+	public SearchContext(long nodeLimit, long deadline) {
+		this.nodeLimit = nodeLimit;
+		this.deadline = deadline;
+	}
+
+	public static SearchContext unlimited() {
+		return new SearchContext(NO_LIMIT, Search.NO_DEADLINE);
+	}
+
+	// ---------------------------------- CANCELLATION ----------------------------------
+
+	// may be called from any thread, the search notices it within a few thousand nodes
+	public void stop() {
+		stopped = true;
+	}
+
+	public boolean isStopped() {
+		return stopped;
+	}
+
+	// adds the nodes a worker searched since its last report and returns true once the search has to end
+	boolean report(long searched, boolean limited) {
+		long total = nodes.addAndGet(searched);
+		return stopped || (limited && (total >= nodeLimit || System.currentTimeMillis() >= deadline));
+	}
+
+	// ---------------------------------- GENERIC GETTERS ----------------------------------
+
+	public long getNodeLimit() {
+		return nodeLimit;
+	}
+
+	public long getDeadline() {
+		return deadline;
+	}
+
+	public long getNodes() {
+		return nodes.get();
+	}
+
+}
@@ -0,0 +1,76 @@
+package com.chess.root.engine;
+
+public class SearchStack {
+
+	// one move and score buffer per ply, allocated once and reused by every search
+	private final int[][] moves = new int[Position.MAX_PLY][Position.MAX_MOVES];
+	private final int[][] scores = new int[Position.MAX_PLY][Position.MAX_MOVES];
+	private final int[] counts = new int[Position.MAX_PLY];
+	// the last two quiet moves which caused a cutoff on each ply
+	private final int[][] killers = new int[Position.MAX_PLY][2];
+	// the best line found from each ply on, the line of a ply is its best move followed by the line of the next ply
+	private final int[][] lines = new int[Position.MAX_PLY][Position.MAX_PLY];
+	private final int[] lineLengths = new int[Position.MAX_PLY];
+
+	// ---------------------------------- KILLER MOVES ----------------------------------
+
+	public void addKiller(int ply, int move) {
+		if (killers[ply][0] != move) {
+			killers[ply][1] = killers[ply][0];
+			killers[ply][0] = move;
+		}
+	}
+
+	public void clearKillers() {
+		for (int[] killer : killers) {
+			killer[0] = 0;
+			killer[1] = 0;
+		}
+	}
+
+	// ---------------------------------- PRINCIPAL VARIATION ----------------------------------
+
+	public void clearLine(int ply) {
+		lineLengths[ply] = 0;
+	}
+
+	public void updateLine(int ply, int move) {
+		int length = ply + 1 < Position.MAX_PLY ? lineLengths[ply + 1] : 0;
+		lines[ply][0] = move;
+		if (length > 0) {
+			System.arraycopy(lines[ply + 1], 0, lines[ply], 1, Math.min(length, Position.MAX_PLY - 1));
+		}
+		lineLengths[ply] = Math.min(length + 1, Position.MAX_PLY);
+	}
+
+	public int[] getLine(int ply) {
+		return lines[ply];
+	}
+
+	public int getLineLength(int ply) {
+		return lineLengths[ply];
+	}
+
+	// ---------------------------------- GENERIC GETTERS AND SETTERS ----------------------------------
+
+	public int[] getMoves(int ply) {
+		return moves[ply];
+	}
+
+	public int[] getScores(int ply) {
+		return scores[ply];
+	}
+
+	public int[] getKillers(int ply) {
+		return killers[ply];
+	}
+
+	public int getCount(int ply) {
+		return counts[ply];
+	}
+
+	public void setCount(int ply, int count) {
+		counts[ply] = count;
+	}
+
+}
@@ -0,0 +1,274 @@
+package com.chess.root.engine;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.CodeSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class Tablebase {
+
+	public static final String EXTENSION = ".tb";
+	public static final int NO_SCORE = Integer.MIN_VALUE;
+	public static final int MAX_PIECES = 4;
+
+	// one byte per position: 0 is a draw, 255 an illegal position, otherwise the distance to mate in plies plus one,
+	// an even distance means the side to move is mated, an odd one that it mates
+	static final int DRAW = 0;
+	static final int ILLEGAL = 255;
+
+	// piece letters in the order the pieces of a side are listed, the king always comes first
+	static final String LETTERS = "PNBRQK";
+	static final int[] ORDER = { Position.KING, Position.QUEEN, Position.ROOK, Position.BISHOP, Position.KNIGHT, Position.PAWN };
+
+	private static final Logger LOG = Logger.getLogger(String.class.getName());
+	private static final Map<Path, Tablebase> OPENED = new HashMap<>();
+
+	private final Map<String, ByteBuffer> tables = new HashMap<>();
+	private int maxPieces;
+
+	Tablebase() {
+	}
+
+	// ---------------------------------- LOADING ----------------------------------
+
+	// maps every table file of the directory into memory, a directory opened before is shared
+	public static synchronized Tablebase open(Path directory) {
+		Path key = directory.toAbsolutePath().normalize();
+		Tablebase tablebase = OPENED.get(key);
+		if (tablebase == null) {
+			tablebase = new Tablebase();
+			tablebase.load(key);
+			OPENED.put(key, tablebase);
+		}
+		return tablebase;
+	}
+
+	// a relative directory lies next to the jar or the classes directory, so it does not depend on where the game was started
+	public static Path resolve(String path) {
+		Path directory = Paths.get(path);
+		CodeSource source = Tablebase.class.getProtectionDomain().getCodeSource();
+		if (directory.isAbsolute() || source == null) {
+			return directory;
+		}
+		try {
+			Path parent = Paths.get(source.getLocation().toURI()).getParent();
+			return parent != null ? parent.resolve(directory) : directory;
+		} catch (URISyntaxException | IllegalArgumentException e) {
+			LOG.log(Level.WARNING, "application directory unknown: {0}", e.getMessage());
+			return directory;
+		}
+	}
+
+	private void load(Path directory) {
+		if (!Files.isDirectory(directory)) {
+			LOG.log(Level.INFO, "SYSTEM: no tablebases found in {0}", directory);
+			return;
+		}
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+			for (Path file : files) {
+				String name = file.getFileName().toString();
+				String signature = name.substring(0, name.length() - EXTENSION.length());
+				try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+					if (isSignature(signature) && channel.size() == size(signature)) {
+						add(signature, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+					} else {
+						LOG.log(Level.WARNING, "tablebase file does not fit its name: {0}", name);
+					}
+				}
+			}
+		} catch (IOException e) {
+			LOG.log(Level.WARNING, "tablebases could not be loaded: {0}", e.getMessage());
+		}
+		if (tables.isEmpty()) {
+			LOG.log(Level.INFO, "SYSTEM: no tablebases found in {0}", directory);
+		} else {
+			LOG.log(Level.INFO, "SYSTEM: {0} tablebases loaded", tables.size());
+		}
+	}
+
+	void add(String signature, ByteBuffer table) {
+		tables.put(signature, table);
+		maxPieces = Math.max(maxPieces, signature.length() - 1);
+	}
+
+	boolean contains(String signature) {
+		return tables.containsKey(signature);
+	}
+
+	ByteBuffer get(String signature) {
+		return tables.get(signature);
+	}
+
+	// ---------------------------------- PROBING ----------------------------------
+
+	// returns the exact score of the position seen from the side to move, or NO_SCORE if no table covers it
+	public int probe(Position position, int ply) {
+		if (Long.bitCount(position.getOccupancy()) > maxPieces || position.getCastling() != 0 || position.getEnPassantSquare() != Position.EMPTY) {
+			return NO_SCORE;
+		}
+		int value = value(position);
+		if (value == ILLEGAL || value < 0) {
+			return NO_SCORE;
+		}
+		if (value == DRAW) {
+			return 0;
+		}
+		int distance = value - 1;
+		return (distance & 1) == 0 ? -Search.MATE + ply + distance : Search.MATE - ply - distance;
+	}
+
+	public int getMaxPieces() {
+		return maxPieces;
+	}
+
+	public int size() {
+		return tables.size();
+	}
+
+	// the raw table value of the position, -1 if there is no table for it
+	int value(Position position) {
+		String white = material(position, Position.WHITE);
+		String black = material(position, Position.BLACK);
+		ByteBuffer table = tables.get(white + "v" + black);
+		boolean flip = false;
+		if (table == null) {
+			// the tables only hold one color order, the other one is probed with the board mirrored
+			table = tables.get(black + "v" + white);
+			flip = true;
+		}
+		if (table == null) {
+			return -1;
+		}
+		return table.get(index(position, flip)) & 0xFF;
+	}
+
+	// ---------------------------------- INDEXING ----------------------------------
+
+	// the pieces of one side as letters, for example KBN
+	static String material(Position position, int color) {
+		StringBuilder sb = new StringBuilder();
+		for (int type : ORDER) {
+			for (int i = Long.bitCount(position.getPieces(color, type)); i > 0; i--) {
+				sb.append(LETTERS.charAt(type));
+			}
+		}
+		return sb.toString();
+	}
+
+	static boolean isSignature(String signature) {
+		return hasSignatureFormat(signature) && signature.length() - 1 <= MAX_PIECES;
+	}
+
+	// the pieces of both sides, each starting with its king and split by a v: KQvK, KRPvKR
+	static boolean hasSignatureFormat(String signature) {
+		return signature.matches("K[QRBNP]*vK[QRBNP]*");
+	}
+
+	static boolean hasPawns(String signature) {
+		return signature.indexOf('P') >= 0;
+	}
+
+	// the first king is kept on a part of the board every position can be mirrored to: a quarter with pawns, a triangle of ten squares without
+	static int kingSquares(String signature) {
+		return hasPawns(signature) ? 32 : 10;
+	}
+
+	static long size(String signature) {
+		long size = 2L * kingSquares(signature);
+		for (int i = 1; i < signature.length() - 1; i++) {
+			size *= 64;
+		}
+		return size;
+	}
+
+	// the squares of all pieces in signature order, the first side is white, mirrored so the first king lies in its part of the board
+	static int index(Position position, boolean flip) {
+		int[] squares = new int[MAX_PIECES];
+		int[] groups = new int[MAX_PIECES];
+		int count = 0;
+		for (int side = Position.WHITE; side <= Position.BLACK; side++) {
+			int color = flip ? side ^ 1 : side;
+			for (int type : ORDER) {
+				long pieces = position.getPieces(color, type);
+				while (pieces != 0) {
+					int square = Long.numberOfTrailingZeros(pieces);
+					pieces &= pieces - 1;
+					groups[count] = side * 6 + type;
+					squares[count++] = flip ? square ^ 56 : square;
+				}
+			}
+		}
+		int side = flip ? position.getSide() ^ 1 : position.getSide();
+		boolean pawns = (position.getPieces(Position.WHITE, Position.PAWN) | position.getPieces(Position.BLACK, Position.PAWN)) != 0;
+		return index(squares, groups, count, side, pawns);
+	}
+
+	static int index(int[] squares, int[] groups, int count, int side, boolean pawns) {
+		int king = squares[0];
+		boolean mirrorColumn = (king & 7) > 3;
+		boolean mirrorRow = !pawns && (king >> 3) > 3;
+		int column = mirrorColumn ? 7 - (king & 7) : king & 7;
+		int row = mirrorRow ? 7 - (king >> 3) : king >> 3;
+		boolean transpose = !pawns && column > row;
+		for (int i = 0; i < count; i++) {
+			squares[i] = transform(squares[i], mirrorColumn, mirrorRow, transpose);
+		}
+		// pieces of the same kind are interchangeable, so they are listed by square
+		for (int i = 1; i < count; i++) {
+			for (int j = i; j > 0 && groups[j] == groups[j - 1] && squares[j] < squares[j - 1]; j--) {
+				int square = squares[j];
+				squares[j] = squares[j - 1];
+				squares[j - 1] = square;
+			}
+		}
+		int index = side * (pawns ? 32 : 10) + kingIndex(squares[0], pawns);
+		for (int i = 1; i < count; i++) {
+			index = index * 64 + squares[i];
+		}
+		return index;
+	}
+
+	static int transform(int square, boolean mirrorColumn, boolean mirrorRow, boolean transpose) {
+		int column = mirrorColumn ? 7 - (square & 7) : square & 7;
+		int row = mirrorRow ? 7 - (square >> 3) : square >> 3;
+		return transpose ? column * 8 + row : row * 8 + column;
+	}
+
+	// the king square of the first side as an index into its part of the board, -1 if it lies outside
+	static int kingIndex(int square, boolean pawns) {
+		int column = square & 7;
+		int row = square >> 3;
+		if (column > 3) {
+			return -1;
+		}
+		if (pawns) {
+			return row * 4 + column;
+		}
+		if (row > 3 || column > row) {
+			return -1;
+		}
+		return row * (row + 1) / 2 + column;
+	}
+
+	static int kingSquare(int index, boolean pawns) {
+		if (pawns) {
+			return (index / 4) * 8 + index % 4;
+		}
+		int row = 0;
+		while ((row + 1) * (row + 2) / 2 <= index) {
+			row++;
+		}
+		return row * 8 + index - row * (row + 1) / 2;
+	}
+
+}
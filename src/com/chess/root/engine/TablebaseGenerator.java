@@ -0,0 +1,258 @@
+package com.chess.root.engine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class TablebaseGenerator {
+
+	// marks a stalemate while the table is built, so it is not taken for an unresolved position
+	private static final int STALEMATE = 254;
+	private static final int MAX_DISTANCE = 252;
+	private static final Logger LOG = Logger.getLogger(String.class.getName());
+
+	private final Path directory;
+	// every table built or loaded so far, captures and promotions are looked up here
+	private final Tablebase tablebase = new Tablebase();
+	private final int[] moves = new int[Position.MAX_MOVES];
+	private final Position position = new Position();
+
+	public TablebaseGenerator(Path directory) {
+		this.directory = directory;
+		position.setPassingEnabled(false);
+	}
+
+	// ---------------------------------- TABLE GENERATION ----------------------------------
+
+	// builds the table of the signature and every table it leads to by captures and promotions, files already there are read instead
+	public void generate(String signature) throws IOException {
+		if (!Tablebase.hasSignatureFormat(signature)) {
+			throw new IllegalArgumentException("not a signature of the form K...vK..., like KQvK or KRvKN: " + signature);
+		} else if (!Tablebase.isSignature(signature)) {
+			throw new IllegalArgumentException("a signature may have at most " + Tablebase.MAX_PIECES + " pieces: " + signature);
+		}
+		String[] sides = signature.split("v");
+		if (tablebase.contains(signature) || tablebase.contains(sides[1] + "v" + sides[0])) {
+			return;
+		}
+		Path file = directory.resolve(signature + Tablebase.EXTENSION);
+		if (Files.exists(file) && Files.size(file) == Tablebase.size(signature)) {
+			tablebase.add(signature, ByteBuffer.wrap(Files.readAllBytes(file)));
+			return;
+		}
+		for (String next : getSuccessors(sides[0], sides[1])) {
+			generate(next);
+		}
+		for (String next : getSuccessors(sides[1], sides[0])) {
+			String[] other = next.split("v");
+			generate(other[1] + "v" + other[0]);
+		}
+		long start = System.currentTimeMillis();
+		byte[] table = build(signature);
+		Files.createDirectories(directory);
+		Files.write(file, table);
+		tablebase.add(signature, ByteBuffer.wrap(table));
+		LOG.log(Level.INFO, "SYSTEM: tablebase {0} built in {1} ms", new Object[] { signature, System.currentTimeMillis() - start });
+	}
+
+	// the signatures reached when the first side captures a piece or promotes a pawn to a queen
+	private static List<String> getSuccessors(String us, String them) {
+		List<String> successors = new ArrayList<>();
+		for (int i = 1; i < them.length(); i++) {
+			successors.add(sort(us) + "v" + sort(them.substring(0, i) + them.substring(i + 1)));
+		}
+		int pawn = us.indexOf('P');
+		if (pawn > 0) {
+			String promoted = us.substring(0, pawn) + "Q" + us.substring(pawn + 1);
+			successors.add(sort(promoted) + "v" + sort(them));
+			for (int i = 1; i < them.length(); i++) {
+				successors.add(sort(promoted) + "v" + sort(them.substring(0, i) + them.substring(i + 1)));
+			}
+		}
+		return successors;
+	}
+
+	private static String sort(String material) {
+		StringBuilder sb = new StringBuilder();
+		for (int type : Tablebase.ORDER) {
+			char letter = Tablebase.LETTERS.charAt(type);
+			for (int i = 0; i < material.length(); i++) {
+				if (material.charAt(i) == letter) {
+					sb.append(letter);
+				}
+			}
+		}
+		return sb.toString();
+	}
+
+	// retrograde analysis by passes: pass k finds every position mated or mating in exactly k plies
+	private byte[] build(String signature) {
+		int count = signature.length() - 1;
+		int[] groups = new int[count];
+		int piece = 0;
+		int side = Position.WHITE;
+		for (char letter : signature.toCharArray()) {
+			if (letter == 'v') {
+				side = Position.BLACK;
+			} else {
+				groups[piece++] = side * 6 + Tablebase.LETTERS.indexOf(letter);
+			}
+		}
+		boolean pawns = Tablebase.hasPawns(signature);
+		byte[] table = new byte[(int) Tablebase.size(signature)];
+		int[] squares = new int[count];
+
+		for (int index = 0; index < table.length; index++) {
+			if (!setUp(index, groups, squares, pawns)) {
+				table[index] = (byte) Tablebase.ILLEGAL;
+			} else if (!hasLegalMove()) {
+				table[index] = (byte) (position.isInCheck() ? 1 : STALEMATE);
+			}
+		}
+
+		// positions reached by a capture or promotion are final from the start, so passes go on until their distances are covered
+		int longest = getLongestDistance(signature);
+		int lastChange = 0;
+		for (int pass = 1; pass <= MAX_DISTANCE; pass++) {
+			boolean changed = false;
+			for (int index = 0; index < table.length; index++) {
+				if (table[index] == Tablebase.DRAW && setUp(index, groups, squares, pawns) && resolves(table, signature, pass)) {
+					table[index] = (byte) (pass + 1);
+					changed = true;
+				}
+			}
+			if (changed) {
+				lastChange = pass;
+			} else if (pass > lastChange + 1 && pass > longest + 1) {
+				break;
+			}
+		}
+
+		for (int index = 0; index < table.length; index++) {
+			if ((table[index] & 0xFF) == STALEMATE) {
+				table[index] = Tablebase.DRAW;
+			}
+		}
+		return table;
+	}
+
+	// true if the side to move mates in the given number of plies, or is mated in it with every move
+	private boolean resolves(byte[] table, String signature, int distance) {
+		int count = position.generateMoves(moves);
+		boolean allLost = true;
+		int longest = -1;
+		for (int i = 0; i < count; i++) {
+			int move = moves[i];
+			if ((MoveCode.isPromotion(move) && MoveCode.promotion(move) != Position.QUEEN) || !position.make(move)) {
+				continue;
+			}
+			int value = signature.equals(Tablebase.material(position, Position.WHITE) + "v" + Tablebase.material(position, Position.BLACK))
+					? table[Tablebase.index(position, false)] & 0xFF : tablebase.value(position);
+			position.unmake(move);
+			if (value == Tablebase.DRAW || value == STALEMATE) {
+				allLost = false;
+				continue;
+			}
+			int next = value - 1;
+			if ((next & 1) == 0) {
+				// the opponent is mated after this move
+				if (next == distance - 1) {
+					return true;
+				}
+				allLost = false;
+			} else {
+				longest = Math.max(longest, next);
+			}
+		}
+		return allLost && longest == distance - 1;
+	}
+
+	// places the pieces of the index, false if the index is no legal position or not the one the position is stored under
+	private boolean setUp(int index, int[] groups, int[] squares, boolean pawns) {
+		int count = groups.length;
+		int rest = index;
+		for (int i = count - 1; i > 0; i--) {
+			squares[i] = rest & 63;
+			rest >>>= 6;
+		}
+		int kings = pawns ? 32 : 10;
+		int side = rest / kings;
+		squares[0] = Tablebase.kingSquare(rest % kings, pawns);
+		long occupied = 0L;
+		for (int i = 0; i < count; i++) {
+			long bit = 1L << squares[i];
+			int row = squares[i] >> 3;
+			if ((occupied & bit) != 0 || (groups[i] % 6 == Position.PAWN && (row == 0 || row == 7))) {
+				return false;
+			}
+			occupied |= bit;
+		}
+		position.clear();
+		for (int i = 0; i < count; i++) {
+			position.put(squares[i], groups[i] / 6, groups[i] % 6);
+		}
+		position.setSide(side);
+		// the side which just moved cannot be in check
+		if (position.isAttacked(position.kingSquare(side ^ 1), side)) {
+			return false;
+		}
+		return Tablebase.index(position, false) == index;
+	}
+
+	private boolean hasLegalMove() {
+		int count = position.generateMoves(moves);
+		for (int i = 0; i < count; i++) {
+			if (position.isLegal(moves[i])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// the longest distance to mate of the tables a capture or promotion leads to
+	private int getLongestDistance(String signature) {
+		String[] sides = signature.split("v");
+		List<String> successors = getSuccessors(sides[0], sides[1]);
+		for (String next : getSuccessors(sides[1], sides[0])) {
+			String[] other = next.split("v");
+			successors.add(other[1] + "v" + other[0]);
+		}
+		int longest = 0;
+		for (String next : successors) {
+			ByteBuffer table = tablebase.get(next);
+			for (int i = 0; table != null && i < table.limit(); i++) {
+				int value = table.get(i) & 0xFF;
+				if (value != Tablebase.ILLEGAL) {
+					longest = Math.max(longest, value - 1);
+				}
+			}
+		}
+		return longest;
+	}
+
+	// ---------------------------------- HELPER METHODS ----------------------------------
+
+	// builds the tables of the given signatures into the directory, for example: tablebases KQvK KRvK KPvK KBNvK
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.out.println("usage: TablebaseGenerator <directory> <K...vK...>..., for example: tablebases KQvK KRvK KPvK");
+			return;
+		}
+		TablebaseGenerator generator = new TablebaseGenerator(Paths.get(args[0]));
+		for (int i = 1; i < args.length; i++) {
+			try {
+				generator.generate(args[i]);
+			} catch (IllegalArgumentException e) {
+				System.out.println(e.getMessage());
+				System.exit(1);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,93 @@
+package com.chess.root.engine;
+
+public class TranspositionTable {
+
+	public static final int EXACT = 1;
+	public static final int LOWER = 2;
+	public static final int UPPER = 3;
+
+	// an entry is two longs: the key xor the data, so a torn write can never be mistaken for a hit, and the data itself
+	// data bits 0-25: score, bits 26-47: move, bits 48-54: depth, bits 55-60: generation, bits 62-63: bound (0 marks an empty slot)
+	private static final int ENTRY_BYTES = 16;
+	private static final long SCORE_MASK = 0x3FFFFFF;
+	private static final long MOVE_MASK = 0x3FFFFF;
+	private static final int GENERATION_MASK = 0x3F;
+
+	private final long[] keys;
+	private final long[] data;
+	private final int mask;
+	private int generation;
+
+	public TranspositionTable(int megaBytes) {
+		long entries = Math.max(2L, (long) megaBytes * 1024 * 1024 / ENTRY_BYTES);
+		// two entries per bucket: the first one prefers depth, the second one is always replaced
+		int buckets = Integer.highestOneBit((int) Math.min(entries / 2, 1 << 30));
+		keys = new long[buckets * 2];
+		data = new long[buckets * 2];
+		mask = buckets - 1;
+	}
+
+	// ---------------------------------- TABLE ACCESS ----------------------------------
+
+	// returns the stored data for the key or 0 if the position is unknown
+	public long probe(long key) {
+		int index = ((int) key & mask) << 1;
+		for (int i = index; i < index + 2; i++) {
+			long entry = data[i];
+			if ((keys[i] ^ entry) == key && entry != 0) {
+				return entry;
+			}
+		}
+		return 0L;
+	}
+
+	public void store(long key, int depth, int bound, int score, int move) {
+		int index = ((int) key & mask) << 1;
+		long entry = (score & SCORE_MASK) | ((move & MOVE_MASK) << 26) | ((long) depth << 48) | ((long) generation << 55) | ((long) bound << 62);
+		long stored = data[index];
+		// entries left over from earlier searches give way even to shallower ones
+		if ((keys[index] ^ stored) == key || generation(stored) != generation || depth >= depth(stored)) {
+			data[index] = entry;
+			keys[index] = key ^ entry;
+		} else {
+			data[index + 1] = entry;
+			keys[index + 1] = key ^ entry;
+		}
+	}
+
+	// starts a new search, older entries are still found but replaced first
+	public void nextGeneration() {
+		generation = (generation + 1) & GENERATION_MASK;
+	}
+
+	public void clear() {
+		for (int i = 0; i < data.length; i++) {
+			keys[i] = 0L;
+			data[i] = 0L;
+		}
+	}
+
+	// ---------------------------------- ENTRY DECODING ----------------------------------
+
+	public static int score(long entry) {
+		// sign extension of the 26 bit score
+		return (int) (entry << 38 >> 38);
+	}
+
+	public static int move(long entry) {
+		return (int) ((entry >>> 26) & MOVE_MASK);
+	}
+
+	public static int depth(long entry) {
+		return (int) ((entry >>> 48) & 0x7F);
+	}
+
+	public static int generation(long entry) {
+		return (int) ((entry >>> 55) & GENERATION_MASK);
+	}
+
+	public static int bound(long entry) {
+		return (int) (entry >>> 62);
+	}
+
+}
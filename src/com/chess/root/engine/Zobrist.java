@@ -0,0 +1,59 @@
+package com.chess.root.engine;
+
+import java.util.Random;
+
+public class Zobrist {
+
+	// fixed seed, so keys stay the same between runs
+	private static final long SEED = 1070372L;
+
+	private static final long[][] PIECES = new long[12][64];
+	private static final long[] CASTLING = new long[16];
+	private static final long[] EN_PASSANT = new long[8];
+	private static final long SIDE;
+
+	static {
+		Random random = new Random(SEED);
+		for (int piece = 0; piece < 12; piece++) {
+			for (int square = 0; square < 64; square++) {
+				PIECES[piece][square] = random.nextLong();
+			}
+		}
+		// castling keys are combined from the four single rights
+		long[] rights = { random.nextLong(), random.nextLong(), random.nextLong(), random.nextLong() };
+		for (int castling = 0; castling < 16; castling++) {
+			for (int i = 0; i < 4; i++) {
+				if ((castling & (1 << i)) != 0) {
+					CASTLING[castling] ^= rights[i];
+				}
+			}
+		}
+		for (int column = 0; column < 8; column++) {
+			EN_PASSANT[column] = random.nextLong();
+		}
+		SIDE = random.nextLong();
+	}
+
+	private Zobrist() {
+	}
+
+	// ---------------------------------- KEY PARTS ----------------------------------
+
+	public static long piece(int color, int type, int square) {
+		return PIECES[color * 6 + type][square];
+	}
+
+	public static long castling(int castling) {
+		return CASTLING[castling];
+	}
+
+	// only the column of the en passant square is hashed, an empty square adds nothing
+	public static long enPassant(int square) {
+		return square == Position.EMPTY ? 0L : EN_PASSANT[square & 7];
+	}
+
+	public static long side() {
+		return SIDE;
+	}
+
+}
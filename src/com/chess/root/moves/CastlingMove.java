@@ -2,6 +2,8 @@ package com.chess.root.moves;
 
 import com.chess.root.Board;
 import com.chess.root.Field;
+import com.chess.root.engine.MoveCode;
+import com.chess.root.engine.Position;
 import com.chess.root.pieces.Piece;
 import com.chess.root.pieces.RookPiece;
 
@@ -42,6 +44,18 @@ public class CastlingMove extends Move {
 		super.undo(board);
 	}
 	
+	@Override
+	protected void updateKey(Board board) {
+		super.updateKey(board);
+		board.hashPiece(rook.isBlack(), Position.ROOK, rookStartField);
+		board.hashPiece(rook.isBlack(), Position.ROOK, rookField);
+	}
+	
+	@Override
+	protected int getFlag() {
+		return field.getColumn() > startField.getColumn() ? MoveCode.KING_CASTLE : MoveCode.QUEEN_CASTLE;
+	}
+	
 	@Override
 	public void flash() {
 		super.flash();
@@ -1,10 +1,10 @@
 package com.chess.root.moves;
 
-import java.util.List;
 import java.io.Serializable;
 import com.chess.root.Board;
-import com.chess.root.FenParser;
 import com.chess.root.Field;
+import com.chess.root.engine.MoveCode;
+import com.chess.root.engine.Position;
 import com.chess.root.pieces.KingPiece;
 import com.chess.root.pieces.PawnPiece;
 import com.chess.root.pieces.Piece;
@@ -32,12 +32,13 @@ public class Move implements Serializable {
 	protected String notationSuffix = "";
 	protected String checkSuffix = "";
 	
-	protected String fenBoard = "";
+	protected long key;
 	
 	private String result = "*";
 	
 	private boolean ambigCol = false;
 	private boolean ambigRow = false;
+	private boolean notationUpdated = false;
 
 	public Move(Piece piece, Field field, Piece victim) {
 		this.piece = piece;
@@ -47,7 +48,6 @@ public class Move implements Serializable {
 		if (victim != null) {
 			victimField = victim.getField();
 		}
-		updateNotation();
 	}
 		
 	// ---------------------------------- PRE-CALCULATE BASE RATING ----------------------------------
@@ -88,13 +88,14 @@ public class Move implements Serializable {
 		return piece.getNotation() + field.getNotation();
 	}
 	
-	public String getFenBoard() {
-		return fenBoard;
+	public long getKey() {
+		return key;
 	}
 	
 	
 	public void execute(Board board) {
 		boolean countdownReset = false;
+		updateKey(board);
 		if (victim != null) {
 			victimField.removePiece(true);
 			board.removePiece(victim);
@@ -113,43 +114,11 @@ public class Move implements Serializable {
 		field.setPiece(piece);
 		
 		startField.forceRemove();
-		fenBoard = FenParser.getBoard(board);
+		key = board.getKey();
 	}
 	
-	public void executeSimulation(Board board, List<Piece> otherPieces, List<Piece> myPieces, Move thisMove) {
-		executeSimulation(board, otherPieces);
-	}
-	
-	public void executeSimulation(Board board, List<Piece> otherPieces) {
-		if (victim != null) {
-			victimField.removePieceSilently();
-			otherPieces.remove(victim);
-		}
-		savePassing(board.getEnPassantPiece());
-		board.setEnPassantPiece(null);
-		startField.removePieceSilently(); 
-		piece.setFieldSilently(field);
-		field.setPieceSilently(piece);
-	}
-	
-	public void undoSimulation(Board board, List<Piece> otherPieces, List<Piece> myPieces, Move thisMove) {
-		undoSimulation(board, otherPieces);
-	}
-	
-	public void undoSimulation(Board board, List<Piece> otherPieces) {
-		startField.setPieceSilently(piece);
-		piece.setFieldSilently(startField);
-		board.setEnPassantPiece(enPassant);			
-		if (victim != null) {
-			victimField.setPieceSilently(victim);
-			victim.setFieldSilently(victimField);
-			otherPieces.add(victim);
-		} else {
-			field.removePieceSilently();
-		}
-	}
-		
 	public void undo(Board board) {
+		updateKey(board);
 		startField.restorePiece(piece);
 
 		if (victim != null) {
@@ -210,6 +179,33 @@ public class Move implements Serializable {
 		return null;
 	}
 	
+	public int getCode() {
+		int type = getPawn() != null ? Position.PAWN : piece.getType();
+		return MoveCode.encode(startField.getSquare(), field.getSquare(), getFlag(), type, victim != null ? victim.getType() : 0);
+	}
+	
+	// toggles the moved pieces and the side to move in the board key, so the same call executes and takes back the move
+	protected void updateKey(Board board) {
+		if (victim != null) {
+			board.hashPiece(victim.isBlack(), victim.getType(), victimField);
+		}
+		board.hashPiece(piece.isBlack(), piece.getType(), startField);
+		board.hashPiece(piece.isBlack(), piece.getType(), field);
+		board.hashSide();
+	}
+	
+	protected int getFlag() {
+		return victim != null ? MoveCode.CAPTURE : MoveCode.QUIET;
+	}
+	
+	// notation parts are only built once a move is shown, not for every generated move
+	private void checkNotation() {
+		if (!notationUpdated) {
+			notationUpdated = true;
+			updateNotation();
+		}
+	}
+	
 	protected void updateNotation() {
 		if (victim != null) {
 			hitOrMove = "x";
@@ -228,6 +224,7 @@ public class Move implements Serializable {
 	
 	public String getNotation() {
 		if (notation == null) {
+			checkNotation();
 			notation = piece.getNotation() + startField.getNotation() + hitOrMove + field.getNotation() + notationSuffix;
 		}
 		return notation + checkSuffix;		
@@ -236,6 +233,7 @@ public class Move implements Serializable {
 	public String getPgnNotation() {
 		String pgnNotation;
 		String separator = "";
+		checkNotation();
 		String piecen = piece.getNotation();
 		if (this instanceof PromotionMove) {
 			piecen = "";
@@ -259,10 +257,6 @@ public class Move implements Serializable {
 		return pgnNotation;
 	}
 	
-	public void savePassing(Piece piece) {
-		enPassant = piece;
-	}
-	
 	// ---------------------------------- GENERIC SETTERS AND GETTERS ----------------------------------
 
 	public Piece getPiece() {
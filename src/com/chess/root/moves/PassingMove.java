@@ -1,9 +1,8 @@
 package com.chess.root.moves;
 
-import java.util.List;
 import com.chess.root.Board;
-import com.chess.root.FenParser;
 import com.chess.root.Field;
+import com.chess.root.engine.MoveCode;
 import com.chess.root.pieces.Piece;
 import com.chess.root.pieces.RookPiece;
 
@@ -19,6 +18,7 @@ public class PassingMove extends Move {
 	public void execute(Board board) {
 		//field.restorePiece(piece);
 		boolean countdownReset = false;
+		updateKey(board);
 		if (victim != null) {
 			victimField.removePiece(false);
 			board.removePiece(victim);
@@ -36,7 +36,7 @@ public class PassingMove extends Move {
 		
 		field.setPiece(piece);
 		//field.restorePiece(piece);
-		fenBoard = FenParser.getBoard(board);
+		key = board.getKey();
 		
 	}
 	
@@ -48,6 +48,11 @@ public class PassingMove extends Move {
 		}
 	}
 	
+	@Override
+	protected int getFlag() {
+		return MoveCode.EN_PASSANT;
+	}
+	
 	@Override
 	public void undo(Board board) {
 		super.undo(board);
@@ -55,19 +60,6 @@ public class PassingMove extends Move {
 		field.forceRemove();
 	}
 	
-	@Override
-	public void undoSimulation(Board board, List<Piece> otherPieces) {
-		startField.setPieceSilently(piece);
-		piece.setFieldSilently(startField);
-		board.setEnPassantPiece(enPassant);
-		
-		victimField.setPieceSilently(victim);
-		victim.setFieldSilently(victimField);
-		otherPieces.add(victim);
-		field.removePieceSilently();
-		
-	}
-	
 	@Override
 	public void flash() {
 		super.flash();
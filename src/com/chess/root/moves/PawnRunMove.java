@@ -1,8 +1,8 @@
 package com.chess.root.moves;
 
-import java.util.List;
 import com.chess.root.Board;
 import com.chess.root.Field;
+import com.chess.root.engine.MoveCode;
 import com.chess.root.pieces.Piece;
 
 public class PawnRunMove extends Move {
@@ -18,8 +18,7 @@ public class PawnRunMove extends Move {
 	}
 	
 	@Override
-	public void executeSimulation(Board board, List<Piece> otherPieces) {
-		super.executeSimulation(board, otherPieces);
-		board.setEnPassantPiece(piece);
+	protected int getFlag() {
+		return MoveCode.DOUBLE_PUSH;
 	}
 }
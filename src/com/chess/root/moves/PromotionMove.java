@@ -1,9 +1,9 @@
 package com.chess.root.moves;
 
-import java.util.List;
 import com.chess.root.Board;
-import com.chess.root.FenParser;
 import com.chess.root.Field;
+import com.chess.root.engine.MoveCode;
+import com.chess.root.engine.Position;
 import com.chess.root.pieces.Piece;
 import com.chess.root.pieces.QueenPiece;
 import com.chess.root.pieces.RookPiece;
@@ -24,6 +24,21 @@ public class PromotionMove extends Move {
 			return pawn;
 		}
 		
+		@Override
+		protected void updateKey(Board board) {
+			if (victim != null) {
+				board.hashPiece(victim.isBlack(), victim.getType(), victimField);
+			}
+			board.hashPiece(pawn.isBlack(), Position.PAWN, startField);
+			board.hashPiece(pawn.isBlack(), Position.QUEEN, field);
+			board.hashSide();
+		}
+		
+		@Override
+		protected int getFlag() {
+			return victim != null ? MoveCode.QUEEN_PROMOTION_CAPTURE : MoveCode.QUEEN_PROMOTION;
+		}
+		
 		private void setQueenReally(Piece q) {
 			this.piece = q;
 			queen = q;
@@ -33,6 +48,7 @@ public class PromotionMove extends Move {
 		@Override
 		public void execute(Board board) {
 			boolean countdownReset = false;
+			updateKey(board);
 			if (victim != null) {
 				victimField.removePiece(true);
 				board.removePiece(victim);
@@ -52,16 +68,16 @@ public class PromotionMove extends Move {
 			if (queen == null) {
 				this.setQueenReally(new QueenPiece(board, field, c, false));
 			} else {
-				queen.createSymbol();
 				board.addPiece(queen);
 				field.setPiece(queen);
 			}
-			fenBoard = FenParser.getBoard(board);
+			key = board.getKey();
 
 		}
 
 		@Override
 		public void undo(Board board) {
+			updateKey(board);
 			startField.restorePiece(pawn);
 			piece = pawn;
 			board.addPiece(pawn); // new
@@ -84,21 +100,6 @@ public class PromotionMove extends Move {
 
 		
 		
-		@Override
-		public void executeSimulation(Board board, List<Piece> otherPieces, List<Piece> myPieces, Move thisMove) {
-			super.executeSimulation(board, otherPieces);
-			Piece piece = thisMove.getPiece();
-			myPieces.remove(piece);
-			piece = new QueenPiece(board, thisMove.getField(), piece.getColor(), true);
-			queen = piece;
-			myPieces.add(piece);
-		}
-				
-		@Override
-		public void undoSimulation(Board board, List<Piece> otherPieces, List<Piece> myPieces, Move thisMove) {
-			super.undoSimulation(board, otherPieces);
-			myPieces.remove(queen);
-			myPieces.add(thisMove.getPiece());
-		}
+
 
 }
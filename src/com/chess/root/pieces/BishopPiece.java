@@ -1,16 +1,16 @@
 package com.chess.root.pieces;
 
 import java.util.ArrayList;
-import com.chess.model.Direction;
 import com.chess.root.Board;
 import com.chess.root.Field;
+import com.chess.root.engine.Attacks;
+import com.chess.root.engine.Position;
 import com.chess.root.moves.Move;
 
 public class BishopPiece extends Piece {
 	
 	private static String name = "bishop";
 	private static String notation = "B";
-	private static Direction[] dirs = { Direction.BOTTOM_LEFT, Direction.BOTTOM_RIGHT, Direction.TOP_RIGHT, Direction.TOP_LEFT };
 	private static final int[][] BISHOP_UP = {
 			{-20,-10,-10,-10,-10,-10,-10,-20}, 
 			{-10,0,0,0,0,0,0,-10}, 
@@ -36,6 +36,10 @@ public class BishopPiece extends Piece {
 		super(board, field, color, name, notation, board.getPieceValue().bishop(), !color ? BISHOP_UP : BISHOP_DOWN, false);
 		fen = color ? "b" : "B";
 	}
+
+	public static int[][] getTable(boolean color) {
+		return !color ? BISHOP_UP : BISHOP_DOWN;
+	}
 	
 		
 	// ---------------------------------- ABSTRACT METHODS ----------------------------------
@@ -43,32 +47,15 @@ public class BishopPiece extends Piece {
 	
 	@Override
 	public ArrayList<Move> getMoves() {
-		ArrayList<Move> moves = new ArrayList<>();
-		
-		// find moves
-		for (Direction direction : dirs) {
-			int col = this.getField().getColumn();
-			int row = this.getField().getRow();
-			for (int i = 0; i < 8; i++) {
-				col += direction.col();
-				row += direction.row();
-				// check if next field coordinates are valid
-				if (col >= 0 && col < 8 && row >= 0 && row < 8) {	
-					Field next = board.getField(col, row);
-					Piece victim = next.getPiece();
-					// check if enemy piece is next
-					if (victim != null) {
-						if (victim.getColor() != this.getColor()) {
-								moves.add(new Move(this, next, victim));
-						}
-						break;
-					} else {
-						moves.add(new Move(this, next, null));
-					}
-				}
-			}
-		}
-		return moves;
+		// every target of the slider comes from a single lookup in the magic attack table
+		long own = board.getOccupancy(color);
+		long targets = Attacks.bishop(getField().getSquare(), own | board.getOccupancy(!color));
+		return getMoves(targets & ~own);
+	}
+
+	@Override
+	public int getType() {
+		return Position.BISHOP;
 	}
 
 }
@@ -1,12 +1,10 @@
 package com.chess.root.pieces;
 
 import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
 import com.chess.model.Direction;
 import com.chess.root.Board;
 import com.chess.root.Field;
-import com.chess.root.moves.CastlingMove;
+import com.chess.root.engine.Position;
 import com.chess.root.moves.Move;
 
 public class KingPiece extends Piece {
@@ -67,6 +65,13 @@ public class KingPiece extends Piece {
 		fen = color ? "k" : "K";
 	}
 	
+	public static int[][] getTable(boolean color, boolean end) {
+		if (end) {
+			return color ? KING_DOWN_END : KING_UP_END;
+		}
+		return color ? KING_DOWN : KING_UP;
+	}
+	
 	private void checkInit() {
 		if (init) {
 			int row = this.isBlack() ? 0 : 7;
@@ -80,15 +85,6 @@ public class KingPiece extends Piece {
 		init = false;
 	}
 	
-	@Override
-	public void setEndTable(boolean end) {
-		if (end) {
-			table = color ? KING_DOWN_END : KING_UP_END;
-		} else {
-			table = color ? KING_DOWN : KING_UP;
-		}
-	}
-
 	@Override
 	public boolean wasMoved() {
 		return moved;
@@ -108,6 +104,12 @@ public class KingPiece extends Piece {
 		}
 	}
 		
+	public boolean hasCastlingRight(boolean kingSide) {
+		checkInit();
+		Piece rook = kingSide ? rookKingSide : rookQueenSide;
+		return !moved && rook != null && !rook.wasMoved() && !rook.isDead();
+	}
+		
 	@Override
 	public String getCastlingFen() {
 		checkInit();
@@ -177,80 +179,9 @@ public class KingPiece extends Piece {
 		
 		return moves;
 	}
-
 	
-	public List<Move> getCastlingMoves() {
-		checkInit();
-		ArrayList<Move> moves = new ArrayList<>();
-		// check for castling moves
-		if (!this.moved) {
-			if (rookKingSide != null && !rookKingSide.wasMoved() && !rookKingSide.isDead()) {
-				Optional.ofNullable(checkCastling(rookKingSide)).ifPresent(moves::add);
-			}
-			if (rookQueenSide != null && !rookQueenSide.wasMoved() && !rookQueenSide.isDead()) {
-				Optional.ofNullable(checkCastling(rookQueenSide)).ifPresent(moves::add);
-			}
-		}
-		if (!moves.isEmpty()) {
-			return moves;
-		}
-		return null;
-	}
-	
-	private Move checkCastling(Piece rook) {
-		boolean movesLeft = false;
-		List<Piece> otherPieces = board.getPieces(!this.isBlack());
-		int diff = this.getColumn() - rook.getColumn();
-		if (this.getColumn() - rook.getColumn() > 0) {
-			movesLeft = true;
-		}
-
-		int col = this.getColumn();
-		int row = this.getRow();	
-		for (int i = 0; i < 3; i++) {
-			// check if field is free & != start field
-			boolean endangered = false;
-			Field next = null;
-			if (i != 0) {	
-				next = board.getField(col, row);
-				if (next.getPiece() != null) {
-					return null;
-				}
-				Field startField = this.getField();
-				this.getField().removePieceSilently(); 
-				this.setFieldSilently(next);
-				next.setPieceSilently(this);
-				if (board.isPieceEndangered(this, otherPieces)) {
-						endangered = true;
-					}
-				startField.setPieceSilently(this);
-				this.setFieldSilently(startField);
-				next.removePieceSilently();
-				
-			} else {
-				if (board.isPieceEndangered(this, otherPieces)) {
-					endangered = true;
-				}
-			}
-			if (endangered) {
-				return null;
-			}
-			if (movesLeft) {
-				col--;
-			} else {
-				col++;
-			}
-			if (i == 2 && (Math.abs(diff) == 4)) {
-				Field test = board.getField(col, this.getRow());
-				if (test.getPiece() != null) {
-					return null;
-				}
-			}
-			
-		}
-		int rookVal1 = movesLeft ? -2 : 2;
-		int rookVal2 = movesLeft ? -1 : 1;
-
-		return new CastlingMove(this, rook, board.getField(this.getColumn()+rookVal1, this.getRow()), board.getField(this.getColumn()+rookVal2, this.getRow()));
+	@Override
+	public int getType() {
+		return Position.KING;
 	}
 }
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import com.chess.model.Direction;
 import com.chess.root.Board;
 import com.chess.root.Field;
+import com.chess.root.engine.Position;
 import com.chess.root.moves.Move;
 
 public class KnightPiece extends Piece {
@@ -36,6 +37,10 @@ public class KnightPiece extends Piece {
 		super(board, field, color, name, notation, board.getPieceValue().knight(), !color ? KNIGHT_UP : KNIGHT_DOWN, false);
 		fen = color ? "n" : "N";
 	}
+
+	public static int[][] getTable(boolean color) {
+		return !color ? KNIGHT_UP : KNIGHT_DOWN;
+	}
 		
 	// ---------------------------------- ABSTRACT METHODS ----------------------------------
 	
@@ -64,4 +69,9 @@ public class KnightPiece extends Piece {
 		return moves;
 	}
 
+	@Override
+	public int getType() {
+		return Position.KNIGHT;
+	}
+
 }
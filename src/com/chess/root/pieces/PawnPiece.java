@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import com.chess.model.Direction;
 import com.chess.root.Board;
 import com.chess.root.Field;
+import com.chess.root.engine.Position;
 import com.chess.root.moves.Move;
 import com.chess.root.moves.PassingMove;
 import com.chess.root.moves.PawnRunMove;
@@ -44,6 +45,10 @@ public class PawnPiece extends Piece {
 		fen = color ? "p" : "P";
 	}
 
+	public static int[][] getTable(boolean color) {
+		return !color ? PAWN_UP : PAWN_DOWN;
+	}
+
 	public boolean movesUp() {
 		return !color;
 	}
@@ -133,6 +138,11 @@ public class PawnPiece extends Piece {
 		}
 		return moves;
 	}
+
+	@Override
+	public int getType() {
+		return Position.PAWN;
+	}
 	
 	@Override
 	public String getPgnNotation() {
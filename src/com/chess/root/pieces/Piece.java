@@ -1,8 +1,6 @@
 package com.chess.root.pieces;
 
 import java.io.Serializable;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
 import com.chess.root.Board;
 import com.chess.root.Field;
 import com.chess.root.moves.Move;
@@ -23,13 +21,10 @@ public abstract class Piece implements Serializable {
     private String descriptiveName; // internal use only
     private String notation;
     protected String fen;
-    private transient ImageView symbol;
-    private transient Image image;
     protected boolean color;
     protected int rating;
     protected int posValue;
     protected int defense;
-    private static final int IMGSIZE = 60;
     protected int[][] table;
     
     // Add these methods for custom serialization
@@ -76,7 +71,6 @@ public abstract class Piece implements Serializable {
         this.table = table;
         
         if (!simulation) {
-            createSymbol();
             init();
         }
     }
@@ -145,10 +139,6 @@ public abstract class Piece implements Serializable {
         return color;
     }
 
-    public ImageView getSymbol() {
-        return symbol;
-    }
-    
     public String getNotation() {
         return notation;
     }
@@ -181,31 +171,24 @@ public abstract class Piece implements Serializable {
         return false;
     }
     
-    public void setEndTable(boolean end) {
-        
-    }
-
     // ---------------------------------- HELPER METHODS ----------------------------------
     
-    public void createSymbol() {
-        if (image == null || symbol == null) {
-            String path = "com/chess/resources/img/";
-            path += descriptiveName;
-            path += this.isBlack() ? "_b.png" : "_w.png";
-            final String filePath = path;
-            ImageView img = new ImageView(filePath);
-            img.setFitWidth(IMGSIZE);
-            img.setFitHeight(IMGSIZE);
-            symbol = img;
-            
-            Double imgSize = (double) IMGSIZE;
-            image = new Image(filePath, imgSize, imgSize, false, false);
+    protected ArrayList<Move> getMoves(long targets) {
+        ArrayList<Move> moves = new ArrayList<>();
+        while (targets != 0) {
+            int square = Long.numberOfTrailingZeros(targets);
+            Field next = board.getField(square & 7, square >>> 3);
+            moves.add(new Move(this, next, next.getPiece()));
+            targets &= targets - 1;
         }
+        return moves;
     }
     
-    public Image getImage() {
-        return image;
+    // the image resource of the piece, the user interface loads it from there
+    public String getImagePath() {
+        return "com/chess/resources/img/" + descriptiveName + (this.isBlack() ? "_b.png" : "_w.png");
     }
+    
 
     @Override
     public String toString() {
@@ -238,6 +221,8 @@ public abstract class Piece implements Serializable {
     // ---------------------------------- ABSTRACT METHODS ----------------------------------
     
     public abstract List<Move> getMoves();
+    
+    public abstract int getType();
 
     public void initializeFenCastling(String cas) {
     }
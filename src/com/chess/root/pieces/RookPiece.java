@@ -1,16 +1,16 @@
 package com.chess.root.pieces;
 
 import java.util.ArrayList;
-import com.chess.model.Direction;
 import com.chess.root.Board;
 import com.chess.root.Field;
+import com.chess.root.engine.Attacks;
+import com.chess.root.engine.Position;
 import com.chess.root.moves.Move;
 
 public class RookPiece extends Piece {
 	
 	private static String name = "rook";
 	private static String notation = "R";
-	private static Direction[] dirs = { Direction.TOP, Direction.BOTTOM, Direction.LEFT, Direction.RIGHT };
 	private static final int[][] ROOK_UP = {
 			{0,0,0,0,0,0,0,0},
 			{5,10,10,10,10,10,10,5},
@@ -40,6 +40,10 @@ public class RookPiece extends Piece {
 		moved = color ? !(field.getNotation().contentEquals("a8") || field.getNotation().contentEquals("h8")) : !(field.getNotation().contentEquals("a1") || field.getNotation().contentEquals("h1"));
 		fen = color ? "r" : "R";
 	}
+
+	public static int[][] getTable(boolean color) {
+		return !color ? ROOK_UP : ROOK_DOWN;
+	}
 	
 	@Override
 	public boolean wasMoved() {
@@ -77,32 +81,15 @@ public class RookPiece extends Piece {
 	
 	@Override
 	public ArrayList<Move> getMoves() {
-		ArrayList<Move> moves = new ArrayList<>();
-		
-		// find moves
-		for (Direction direction : dirs) {
-			int col = this.getField().getColumn();
-			int row = this.getField().getRow();
-			for (int i = 0; i < 8; i++) {
-				col += direction.col();
-				row += direction.row();
-				// check if next field coordinates are valid
-				if (col >= 0 && col < 8 && row >= 0 && row < 8) {				
-					Field next = board.getField(col, row);
-					Piece victim = next.getPiece();
-					// check if enemy piece is next
-					if (victim != null) {
-						if (victim.getColor() != this.getColor()) {
-								moves.add(new Move(this, next, victim));
-						}
-						break;
-					} else {
-						moves.add(new Move(this, next, null));
-					}
-				}
-			}
-		}
-		return moves;
+		// every target of the slider comes from a single lookup in the magic attack table
+		long own = board.getOccupancy(color);
+		long targets = Attacks.rook(getField().getSquare(), own | board.getOccupancy(!color));
+		return getMoves(targets & ~own);
+	}
+
+	@Override
+	public int getType() {
+		return Position.ROOK;
 	}
 
 
@@ -0,0 +1,61 @@
+package com.chess.root.engine;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collection;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class PerftTest {
+
+	private final String fen;
+	private final int depth;
+	private final long nodes;
+
+	public PerftTest(String fen, int depth, long nodes) {
+		this.fen = fen;
+		this.depth = depth;
+		this.nodes = nodes;
+	}
+
+	// positions with known leaf counts, together they cover castling, en passant, promotions, checks and pins
+	@Parameters(name = "{0}, depth {1}")
+	public static Collection<Object[]> positions() {
+		return Arrays.asList(new Object[][] {
+				{ Perft.START, 5, 4865609L },
+				{ "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1", 4, 4085603L },
+				{ "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", 5, 674624L },
+				{ "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1", 4, 422333L },
+				{ "r2q1rk1/pP1p2pp/Q4n2/bbp1p3/Np6/1B3NBn/pPPP1PPP/R3K2R b KQ - 0 1", 4, 422333L },
+				{ "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8", 4, 2103487L },
+				{ "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10", 4, 3894594L },
+				{ "3k4/3p4/8/K1P4r/8/8/8/8 b - - 0 1", 6, 1134888L },
+				{ "8/8/4k3/8/2p5/8/B2P2K1/8 w - - 0 1", 6, 1015133L },
+				{ "8/8/1k6/2b5/2pP4/8/5K2/8 b - d3 0 1", 6, 1440467L },
+				{ "5k2/8/8/8/8/8/8/4K2R w K - 0 1", 6, 661072L },
+				{ "3k4/8/8/8/8/8/8/R3K3 w Q - 0 1", 6, 803711L },
+				{ "r3k2r/1b4bq/8/8/8/8/7B/R3K2R w KQkq - 0 1", 4, 1274206L },
+				{ "r3k2r/8/3Q4/8/8/5q2/8/R3K2R b KQkq - 0 1", 4, 1720476L },
+				{ "2K2r2/4P3/8/8/8/8/8/3k4 w - - 0 1", 6, 3821001L },
+				{ "8/8/1P2K3/8/2n5/1q6/8/5k2 b - - 0 1", 5, 1004658L },
+				{ "4k3/1P6/8/8/8/8/K7/8 w - - 0 1", 6, 217342L },
+				{ "8/P1k5/K7/8/8/8/8/8 w - - 0 1", 6, 92683L },
+				{ "K1k5/8/P7/8/8/8/8/8 w - - 0 1", 6, 2217L },
+				{ "8/k1P5/8/1K6/8/8/8/8 w - - 0 1", 7, 567584L },
+				{ "8/8/2k5/5q2/5n2/8/5K2/8 b - - 0 1", 4, 23527L } });
+	}
+
+	// ---------------------------------- COUNTING ----------------------------------
+
+	@Test
+	public void countsLeaves() {
+		Position position = new Position();
+		position.setFen(fen);
+		assertEquals(nodes, new Perft(position).count(depth));
+	}
+
+}